@@ -0,0 +1,56 @@
+package benchmarks;
+
+import cloning.DeepCloningTechniques;
+import cloning.DeepCopier;
+import cloning.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Deep cloning techniques on Person graphs with growing hobby lists.
+ */
+@State(Scope.Benchmark)
+public class CloningBenchmark {
+    @Param({"2", "1000", "10000"})
+    public int hobbies;
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        person = Payloads.person(hobbies);
+    }
+
+    @Benchmark
+    public Person manualDeepClone() {
+        return person.deepClone();
+    }
+
+    @Benchmark
+    public Person serializationDeepClone() {
+        return DeepCloningTechniques.deepCloneUsingSerialization(person);
+    }
+
+    @Benchmark
+    public Person jsonDeepClone() {
+        return DeepCloningTechniques.deepCloneUsingJson(person);
+    }
+
+    @Benchmark
+    public Person generatedCopierDeepClone() {
+        return DeepCopier.deepCopy(person);
+    }
+
+    @Benchmark
+    public Person copyOnWriteClone() {
+        return person.copyOnWriteClone();
+    }
+
+    @Benchmark
+    public Object copyOnWriteCloneThenRead() {
+        return person.copyOnWriteClone().getHobbiesView();
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import GetDateTimeInEST.EasternTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Converting a batch of GMT timestamps to New York time: SimpleDateFormat (one instance per
+ * thread, as it is not thread-safe), the cached DateTimeFormatter, and EasternTime's table
+ * lookup writing into a reused buffer. The *Iso variants parse ISO-8601 strings first.
+ */
+@State(Scope.Thread)
+public class EasternTimeBenchmark {
+    @Param({"10000"})
+    public int count;
+
+    private long[] epochMillis;
+    private String[] iso;
+    private byte[] buffer;
+    private SimpleDateFormat gmt;
+    private SimpleDateFormat eastern;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        epochMillis = new long[count];
+        iso = new String[count];
+        for (int i = 0; i < count; i++) {
+            // spread over 2000-2030 so both offsets are hit
+            epochMillis[i] = 946_684_800_000L + (long) (random.nextDouble() * 946_080_000_000L);
+            iso[i] = Instant.ofEpochMilli(epochMillis[i]).toString();
+        }
+        buffer = new byte[count * EasternTime.LENGTH];
+        gmt = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX");
+        gmt.setTimeZone(TimeZone.getTimeZone("GMT"));
+        eastern = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        eastern.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+    }
+
+    @Benchmark
+    public void simpleDateFormat(Blackhole blackhole) {
+        for (long millis : epochMillis) {
+            blackhole.consume(eastern.format(new Date(millis)));
+        }
+    }
+
+    @Benchmark
+    public void dateTimeFormatter(Blackhole blackhole) {
+        for (long millis : epochMillis) {
+            blackhole.consume(EasternTime.FORMATTER.format(Instant.ofEpochMilli(millis)));
+        }
+    }
+
+    @Benchmark
+    public byte[] easternTime() {
+        EasternTime.formatAll(epochMillis, 0, count, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public void simpleDateFormatIso(Blackhole blackhole) throws ParseException {
+        for (String text : iso) {
+            blackhole.consume(eastern.format(gmt.parse(text)));
+        }
+    }
+
+    @Benchmark
+    public byte[] easternTimeIso() {
+        int offset = 0;
+        for (String text : iso) {
+            offset = EasternTime.format(EasternTime.parseEpochMillis(text), buffer, offset);
+        }
+        return buffer;
+    }
+}
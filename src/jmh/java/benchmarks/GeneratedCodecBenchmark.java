@@ -0,0 +1,60 @@
+package benchmarks;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.JsonCodecs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reflective bean binding (a plain ObjectMapper) vs the generated Model codec that JsonCodecs registers,
+ * reusing one reader and writer. GeneratedCodecColdBenchmark times the first bind instead.
+ */
+@State(Scope.Benchmark)
+public class GeneratedCodecBenchmark {
+    private static final byte[] JSON = "{\"id\":7,\"fruitName\":\"apple\",\"fruitSerialNumber\":\"A-0007\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader reflectiveReader;
+    private ObjectWriter reflectiveWriter;
+    private ObjectReader generatedReader;
+    private ObjectWriter generatedWriter;
+    private Model model;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        reflectiveReader = mapper.readerFor(Model.class);
+        reflectiveWriter = mapper.writerFor(Model.class);
+        generatedReader = JsonCodecs.reader(Model.class);
+        generatedWriter = JsonCodecs.writer(Model.class);
+        model = new Model(7, "apple", "A-0007");
+    }
+
+    @Benchmark
+    public Model reflectiveRead() throws IOException {
+        return reflectiveReader.readValue(JSON);
+    }
+
+    @Benchmark
+    public Model generatedRead() throws IOException {
+        return generatedReader.readValue(JSON);
+    }
+
+    @Benchmark
+    public byte[] reflectiveWrite() throws IOException {
+        return reflectiveWriter.writeValueAsBytes(model);
+    }
+
+    @Benchmark
+    public byte[] generatedWrite() throws IOException {
+        return generatedWriter.writeValueAsBytes(model);
+    }
+}
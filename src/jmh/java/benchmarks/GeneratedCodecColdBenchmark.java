@@ -0,0 +1,40 @@
+package benchmarks;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import codegen.GeneratedCodecs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The first bind of a fresh mapper in a fresh JVM, once per fork: reflective bean binding vs the
+ * generated Model codec. There is deliberately no state or setup here, so nothing loads Jackson,
+ * the codecs or Model before the measured call.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class GeneratedCodecColdBenchmark {
+
+    @Benchmark
+    public Model reflectiveColdRead() throws IOException {
+        return new ObjectMapper().readValue(json(), Model.class);
+    }
+
+    @Benchmark
+    public Model generatedColdRead() throws IOException {
+        return new ObjectMapper().registerModule(GeneratedCodecs.module()).readValue(json(), Model.class);
+    }
+
+    private static byte[] json() {
+        return "{\"id\":7,\"fruitName\":\"apple\",\"fruitSerialNumber\":\"A-0007\"}".getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import H2BulkLoading.BulkLoader;
+import H2BulkLoading.TableMapping;
+import JSONFileReading.EntityModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row-at-a-time vs batched vs multi-row inserts of EntityModel rows into in-memory H2.
+ * Commits are nearly free in memory, so this mostly measures per-statement overhead; against
+ * a file-backed or remote database the gap to ROW_AT_A_TIME grows with the cost of a commit.
+ */
+@State(Scope.Benchmark)
+public class H2BulkLoadBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"ROW_AT_A_TIME", "BATCHED", "MULTI_ROW"})
+    public BulkLoader.Mode mode;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private List<EntityModel> entityModels;
+    private Connection connection;
+    private BulkLoader<EntityModel> loader;
+
+    @Setup
+    public void setUp() throws SQLException {
+        entityModels = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            EntityModel entityModel = new EntityModel();
+            entityModel.setId(i);
+            entityModel.setName("name-" + i);
+            entityModels.add(entityModel);
+        }
+        connection = DriverManager.getConnection("jdbc:h2:mem:bench", "sa", "");
+        loader = new BulkLoader<>(connection, TableMapping.ENTITY_MODEL, mode, batchSize);
+        loader.createTable();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE ENTITY_MODEL");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long load() throws SQLException {
+        return loader.load(entityModels.iterator());
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import CreateDTOAndReadUsingFileStreams.createDTOAndReadJsonFile;
+import JSONFileReading.JSONFileReadingEasyWay;
+import JSONFileReading.JsonCodecs;
+import JSONFileReading.JsonObjectView;
+import JSONFileReading.MyClass;
+import JSONFileReading.TypedJsonReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Single-document JSON paths on the tiny MyClass and Model payloads.
+ */
+@State(Scope.Benchmark)
+public class JsonReadingBenchmark {
+    private final MyClass myObject = new MyClass("example", 123);
+    private final String myObjectJson = "{\"name\":\"example\",\"value\":123}";
+
+    @Benchmark
+    public String getAsJsonStringGson() {
+        return JSONFileReadingEasyWay.getAsJsonString(myObject);
+    }
+
+    @Benchmark
+    public String getAsJsonStringJackson() throws JsonProcessingException {
+        return JsonCodecs.writer(MyClass.class).writeValueAsString(myObject);
+    }
+
+    private final byte[] myObjectBytes = myObjectJson.getBytes(StandardCharsets.UTF_8);
+    private final JsonObjectView objectView = new JsonObjectView();
+    private final TypedJsonReader<MyClass> myClassReader = JsonCodecs.typedReader(JsonCodecs.Profile.LENIENT, MyClass.class);
+
+    @Benchmark
+    public MyClass readJsonAsObject() throws IOException {
+        return JSONFileReadingEasyWay.readJsonAsObject(myObjectJson, MyClass.class);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public MyClass readJsonAsObjectWithInstance() {
+        return JSONFileReadingEasyWay.readJsonAsObject(myObjectJson, new MyClass("", 0));
+    }
+
+    @Benchmark
+    public MyClass typedReaderBytes() throws IOException {
+        return myClassReader.read(myObjectBytes);
+    }
+
+    @Benchmark
+    public Map<String, Object> getJsonAsMap() throws IOException {
+        return JSONFileReadingEasyWay.getJsonAsMap(myObjectJson);
+    }
+
+    @Benchmark
+    public int getJsonAsMapLookup() throws IOException {
+        return (Integer) JSONFileReadingEasyWay.getJsonAsMap(myObjectJson).get("value");
+    }
+
+    @Benchmark
+    public int objectViewLookup() throws IOException {
+        return objectView.reset(myObjectBytes, 0, myObjectBytes.length).getInt("value");
+    }
+
+    @Benchmark
+    public Model readModel() throws IOException {
+        return createDTOAndReadJsonFile.readModel(Model.class, "/model.json");
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import JSONFileReading.EntityModel;
+import JSONFileReading.JsonRecordReader;
+import JSONFileReading.MappedFiles;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reading a large EntityModel array from disk through a plain file stream vs a memory mapping.
+ */
+@State(Scope.Benchmark)
+public class MappedReadBenchmark {
+    @Param({"100000"})
+    public int records;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("entity-models", ".json");
+        Files.write(file, Payloads.entityModelsJson(records));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void fileStream(Blackhole blackhole) throws IOException {
+        consume(Files.newInputStream(file), blackhole);
+    }
+
+    @Benchmark
+    public void memoryMapped(Blackhole blackhole) throws IOException {
+        consume(MappedFiles.open(file), blackhole);
+    }
+
+    private static void consume(InputStream inputStream, Blackhole blackhole) throws IOException {
+        try (JsonRecordReader<EntityModel> reader = new JsonRecordReader<>(inputStream, EntityModel.class)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.JsonRecordReader;
+import JSONFileReading.MappedFiles;
+import JSONFileReading.ParallelNdjsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Summing the ids of a newline-delimited Model file with one sequential reader vs the parallel
+ * range-split stream, ordered and unordered. The parallel variants scale with the size of the common pool.
+ */
+@State(Scope.Benchmark)
+public class ParallelNdjsonBenchmark {
+    @Param({"1000000"})
+    public int records;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("models", ".ndjson");
+        Files.write(file, Payloads.modelsNdjson(records));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long sequential() throws IOException {
+        long sum = 0;
+        try (JsonRecordReader<Model> reader = new JsonRecordReader<>(MappedFiles.open(file), Model.class)) {
+            while (reader.hasNext()) {
+                sum += reader.next().getId();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parallelOrdered() throws IOException {
+        try (Stream<Model> models = ParallelNdjsonReader.models(file)) {
+            return models.mapToLong(Model::getId).sum();
+        }
+    }
+
+    @Benchmark
+    public long parallelUnordered() throws IOException {
+        try (Stream<Model> models = ParallelNdjsonReader.stream(file, Model.class, false)) {
+            return models.mapToLong(Model::getId).sum();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import cloning.Address;
+import cloning.Person;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shared by the benchmarks, from tiny single records to large graphs.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    static Person person(int hobbyCount) {
+        List<String> hobbies = new ArrayList<>(hobbyCount);
+        for (int i = 0; i < hobbyCount; i++) {
+            hobbies.add("hobby-" + i);
+        }
+        return new Person("Charlie", 32, new Address("789 Pine St", "Seattle", "98101", "USA"), hobbies);
+    }
+
+    static byte[] entityModelsJson(int records) {
+        StringBuilder json = new StringBuilder(records * 32).append('[');
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1).append(",\"name\":\"name-").append(i).append("\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] modelsNdjson(int records) {
+        StringBuilder json = new StringBuilder(records * 64);
+        for (int i = 0; i < records; i++) {
+            json.append("{\"id\":").append(i + 1).append(",\"fruitName\":\"fruit-").append(i % 50)
+                    .append("\",\"fruitSerialNumber\":\"").append(1_000_000 + i).append("\"}\n");
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // A Model with a large nested subtree either after all its fields or between id and fruitSerialNumber
+    static byte[] wideModelJson(int detailCount, boolean detailsLast) {
+        StringBuilder json = new StringBuilder(detailCount * 48)
+                .append("{\"id\":1,\"fruitName\":\"Apple\",");
+        if (detailsLast) {
+            json.append("\"fruitSerialNumber\":\"1234567\",");
+        }
+        json.append("\"details\":[");
+        for (int i = 0; i < detailCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"key\":\"detail-").append(i).append("\",\"weight\":").append(i * 0.5)
+                    .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        json.append(']');
+        if (!detailsLast) {
+            json.append(",\"fruitSerialNumber\":\"1234567\"");
+        }
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] entityModelsXml(int records) {
+        StringBuilder xml = new StringBuilder(records * 64).append("<entityModels>");
+        for (int i = 0; i < records; i++) {
+            xml.append("<entityModel><id>").append(i + 1).append("</id><name>name-").append(i).append("</name></entityModel>");
+        }
+        return xml.append("</entityModels>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import CreateDTOAndReadUsingFileStreams.ModelKey;
+import JSONFileReading.JsonCodecs;
+import JSONFileReading.JsonProjection;
+import JSONFileReading.TypedJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Full Model binding against projecting id and fruitSerialNumber out of a wide document.
+ * Both skip the unmapped subtree token by token; the projection additionally stops reading
+ * once both fields were seen, which pays off when the subtree comes after them.
+ */
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+    @Param({"0", "100", "1000"})
+    public int detailCount;
+
+    @Param({"false", "true"})
+    public boolean detailsLast;
+
+    private byte[] json;
+    private final TypedJsonReader<Model> modelReader = JsonCodecs.typedReader(JsonCodecs.Profile.IGNORE_UNKNOWN, Model.class);
+    private final JsonProjection.RecordProjection<ModelKey> projection = JsonProjection.into(ModelKey.class);
+
+    @Setup
+    public void setUp() {
+        json = Payloads.wideModelJson(detailCount, detailsLast);
+    }
+
+    @Benchmark
+    public Model fullBinding() throws IOException {
+        return modelReader.read(json);
+    }
+
+    @Benchmark
+    public ModelKey projection() throws IOException {
+        return projection.read(json);
+    }
+}
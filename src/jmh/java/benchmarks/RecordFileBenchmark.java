@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import serializationWithJava.BinaryCodecs;
+import serializationWithJava.RecordFileReader;
+import serializationWithJava.RecordFileWriter;
+import serializationWithJava.SerializationEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writing and reading many SerializationEntity records through the block record file.
+ */
+@State(Scope.Benchmark)
+public class RecordFileBenchmark {
+    @Param({"100000"})
+    public int records;
+
+    private SerializationEntity[] entities;
+    private Path writeTarget;
+    private Path readSource;
+
+    @Setup
+    public void setUp() throws IOException {
+        entities = new SerializationEntity[records];
+        for (int i = 0; i < records; i++) {
+            entities[i] = new SerializationEntity(i, "name-" + i, i * 7);
+        }
+        writeTarget = Files.createTempFile("records-write", ".rec");
+        readSource = Files.createTempFile("records-read", ".rec");
+        writeAll(readSource);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(writeTarget);
+        Files.deleteIfExists(readSource);
+    }
+
+    @Benchmark
+    public void writeAll() throws IOException {
+        writeAll(writeTarget);
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) throws IOException {
+        try (RecordFileReader<SerializationEntity> reader = new RecordFileReader<>(readSource, BinaryCodecs.SERIALIZATION_ENTITY)) {
+            for (SerializationEntity entity : reader) {
+                blackhole.consume(entity);
+            }
+        }
+    }
+
+    private void writeAll(Path path) throws IOException {
+        try (RecordFileWriter<SerializationEntity> writer = new RecordFileWriter<>(path, BinaryCodecs.SERIALIZATION_ENTITY)) {
+            for (SerializationEntity entity : entities) {
+                writer.write(entity);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import JSONFileReading.EntityModel;
+import JSONFileReading.JsonRecordReader;
+import XMLFileReading.XmlRecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Streaming EntityModel arrays through the JSON (Jackson) and XML (StAX) readers.
+ */
+@State(Scope.Benchmark)
+public class RecordStreamingBenchmark {
+    @Param({"10", "10000"})
+    public int records;
+
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.entityModelsJson(records);
+        xml = Payloads.entityModelsXml(records);
+    }
+
+    @Benchmark
+    public void streamJson(Blackhole blackhole) throws IOException {
+        try (JsonRecordReader<EntityModel> reader = new JsonRecordReader<>(new ByteArrayInputStream(json), EntityModel.class)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamXml(Blackhole blackhole) throws IOException {
+        try (XmlRecordReader<EntityModel> reader = new XmlRecordReader<>(new ByteArrayInputStream(xml), EntityModel.class)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import serializationWithJava.BinaryCodecs;
+import serializationWithJava.Serialization;
+import serializationWithJava.SerializationEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Java serialization vs binary codec round-trips of SerializationEntity, in memory to keep disk out of the numbers.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private SerializationEntity entity;
+
+    @Setup
+    public void setUp() {
+        entity = new SerializationEntity(1, "johny", 42);
+    }
+
+    @Benchmark
+    public SerializationEntity javaSerializationRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        Serialization.serialize(entity, bytes);
+        return Serialization.deserialize(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Benchmark
+    public SerializationEntity binaryCodecRoundTrip() throws IOException {
+        return BinaryCodecs.SERIALIZATION_ENTITY.decode(BinaryCodecs.SERIALIZATION_ENTITY.encode(entity));
+    }
+}
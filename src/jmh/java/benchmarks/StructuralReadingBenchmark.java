@@ -0,0 +1,58 @@
+package benchmarks;
+
+import JSONFileReading.EntityModel;
+import JSONFileReading.FlatRecordBinder;
+import JSONFileReading.JsonRecordReader;
+import JSONFileReading.StructuralJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Streaming an EntityModel array with Jackson against the structural-index reader, with the
+ * SWAR and the Vector API block classifier. Throughput in GB/s is ops/s times the payload size.
+ * The vector runs need the classifier built: mvn -Pbenchmarks,vector ...
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class StructuralReadingBenchmark {
+    @Param({"100000"})
+    public int records;
+
+    @Param({"swar", "vector"})
+    public String implementation;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.entityModelsJson(records);
+        System.setProperty("json.structural.vector", String.valueOf(implementation.equals("vector")));
+        if (implementation.equals("vector") && !StructuralJsonReader.implementation().startsWith("vector")) {
+            throw new IllegalStateException("VectorStructuralIndexer is not on the classpath, build with -Pvector");
+        }
+    }
+
+    @Benchmark
+    public void jackson(Blackhole blackhole) throws IOException {
+        try (JsonRecordReader<EntityModel> reader = new JsonRecordReader<>(new ByteArrayInputStream(json), EntityModel.class)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public long structural(Blackhole blackhole) throws IOException {
+        try (StructuralJsonReader<EntityModel> reader = new StructuralJsonReader<>(json, FlatRecordBinder.ENTITY_MODEL)) {
+            return reader.forEach(blackhole::consume);
+        }
+    }
+}
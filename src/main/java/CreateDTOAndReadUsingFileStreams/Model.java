@@ -1,14 +1,21 @@
 package CreateDTOAndReadUsingFileStreams;
 
+import codegen.GeneratedCodec;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@GeneratedCodec
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Model {
+    @Positive
     private int id;
+    @NotBlank
     private String fruitName;
+    @NotBlank
     private String fruitSerialNumber;
 }
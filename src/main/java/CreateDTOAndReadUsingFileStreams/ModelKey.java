@@ -0,0 +1,5 @@
+package CreateDTOAndReadUsingFileStreams;
+
+// The two Model fields most callers need, read with a JsonProjection instead of binding a whole Model
+public record ModelKey(int id, String fruitSerialNumber) {
+}
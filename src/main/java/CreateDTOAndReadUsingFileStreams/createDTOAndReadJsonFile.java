@@ -1,33 +1,76 @@
 package CreateDTOAndReadUsingFileStreams;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import Instrumentation.CodecMetrics;
+import JSONFileReading.JsonCodecs;
+import JSONFileReading.JsonProjection;
+import JSONFileReading.ParsedResourceCache;
+import JSONFileReading.TypedJsonReader;
 
 import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 
 public class createDTOAndReadJsonFile {
+    private static final JsonProjection.RecordProjection<ModelKey> MODEL_KEY = JsonProjection.into(ModelKey.class);
+
     public static void main(String[] args) throws IOException {
-        Model dto = (Model) readModel(new Model(), "/model.json");
+        Model dto = readModel(Model.class, "/model.json");
         System.out.println(dto.toString());
+        System.out.println(readModelKey("/model.json"));
+    }
+
+    public static <T> T readModel(Class<T> type, String filename) throws IOException {
+        T dto = CodecMetrics.time("json.readModel", type,
+                () -> ParsedResourceCache.DEFAULT.get(filename, type, JsonCodecs.Profile.IGNORE_UNKNOWN));
+        CodecMetrics.records("json.readModel", type, 1);
+        //Read using buffered reader
+        //BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inJson, StandardCharsets.UTF_8));
+        return dto;
+    }
+
+    // Same as readModel but for a file on disk, read through a memory mapping
+    public static <T> T readModel(Class<T> type, Path file) throws IOException {
+        TypedJsonReader<T> reader = JsonCodecs.typedReader(JsonCodecs.Profile.IGNORE_UNKNOWN, type);
+        T dto = CodecMetrics.time("json.readModel", type, () -> reader.read(file));
+        CodecMetrics.records("json.readModel", type, 1);
+        return dto;
     }
 
-    private static Object readModel(Object dtoType, String filename) throws IOException {
+    // Reads only id and fruitSerialNumber, every other field is skipped without being bound
+    public static ModelKey readModelKey(String filename) throws IOException {
+        InputStream inputStream = ModelKey.class.getResourceAsStream(filename);
+        if (inputStream == null) {
+            throw new FileNotFoundException("Resource not found: " + filename);
+        }
+        ModelKey key = CodecMetrics.time("json.readModelKey", ModelKey.class, () -> MODEL_KEY.read(inputStream));
+        CodecMetrics.records("json.readModelKey", ModelKey.class, 1);
+        return key;
+    }
+
+    /**
+     * @deprecated allocates an instance only to name its type and returns its Class on failure;
+     * use {@link #readModel(Class, String)} instead.
+     */
+    @Deprecated
+    public static Object readModel(Object dtoType, String filename) throws IOException {
         Object dto = dtoType.getClass();
         try {
-            InputStream inJson = null;
-            ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-            inJson = dtoType.getClass().getResourceAsStream(filename);
-            dto = objectMapper.readValue(inJson, dtoType.getClass());
-            //Read using buffered reader
-            //BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inJson, StandardCharsets.UTF_8));
+            dto = readModel(dtoType.getClass(), filename);
         } catch (IOException e) {
             e.printStackTrace();
         }
         return dto;
     }
+
+    /**
+     * @deprecated use {@link #readModel(Class, Path)} instead.
+     */
+    @Deprecated
+    public static Object readModel(Object dtoType, Path file) throws IOException {
+        return readModel(dtoType.getClass(), file);
+    }
 }
@@ -0,0 +1,329 @@
+package GetDateTimeInEST;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts GMT instants to America/New_York wall-clock time in bulk.
+ * <p>
+ * The UTC offset comes from a table of the zone's transitions between {@value #FIRST_YEAR} and
+ * {@value #LAST_YEAR}, built once from the JDK's zone rules and indexed by buckets of 2^22
+ * seconds (about 48 days), so a lookup is one array read and a comparison or two. Instants
+ * outside that range ask the rules directly. Formatting writes the fixed-width pattern
+ * {@code yyyy-MM-dd'T'HH:mm:ss} ({@value #LENGTH} ASCII bytes) into a caller-owned buffer, so
+ * converting a batch allocates nothing. ISO-8601 input in the common
+ * {@code yyyy-MM-ddTHH:mm:ss[.fraction][Z|±hh:mm]} shape is parsed by hand, other shapes go
+ * through {@link DateTimeFormatter#ISO_DATE_TIME}; input without a zone is taken as GMT.
+ * <p>
+ * All methods are stateless and thread-safe. The {@link IsoToEastern} and {@link EpochMillisToEastern}
+ * converters plug the conversion into Jackson binding:
+ * <pre>
+ * &#64;JsonDeserialize(converter = EasternTime.IsoToEastern.class)
+ * private String createdAt;
+ * </pre>
+ */
+public final class EasternTime {
+    public static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(NEW_YORK);
+    public static final int LENGTH = 19;
+
+    static final int FIRST_YEAR = 1900;
+    static final int LAST_YEAR = 2100;
+
+    private static final ZoneRules RULES = NEW_YORK.getRules();
+    private static final long TABLE_START;
+    private static final long TABLE_END;
+    // transition i starts at TRANSITIONS[i] (epoch seconds) and has offset OFFSETS[i + 1]
+    private static final long[] TRANSITIONS;
+    private static final int[] OFFSETS;
+    private static final int BUCKET_SHIFT = 22;
+    // index of the first transition at or after the start of each bucket
+    private static final int[] BUCKETS;
+
+    static {
+        TABLE_START = LocalDateTime.of(FIRST_YEAR, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        TABLE_END = LocalDateTime.of(LAST_YEAR + 1, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        ZoneOffsetTransition next = RULES.nextTransition(Instant.ofEpochSecond(TABLE_START));
+        while (next != null && next.toEpochSecond() < TABLE_END) {
+            transitions.add(next);
+            next = RULES.nextTransition(next.getInstant());
+        }
+        TRANSITIONS = new long[transitions.size()];
+        OFFSETS = new int[transitions.size() + 1];
+        OFFSETS[0] = RULES.getOffset(Instant.ofEpochSecond(TABLE_START)).getTotalSeconds();
+        for (int i = 0; i < TRANSITIONS.length; i++) {
+            TRANSITIONS[i] = transitions.get(i).toEpochSecond();
+            OFFSETS[i + 1] = transitions.get(i).getOffsetAfter().getTotalSeconds();
+        }
+        BUCKETS = new int[(int) ((TABLE_END - TABLE_START) >>> BUCKET_SHIFT) + 1];
+        int transition = 0;
+        for (int bucket = 0; bucket < BUCKETS.length; bucket++) {
+            long bucketStart = TABLE_START + ((long) bucket << BUCKET_SHIFT);
+            while (transition < TRANSITIONS.length && TRANSITIONS[transition] < bucketStart) {
+                transition++;
+            }
+            BUCKETS[bucket] = transition;
+        }
+    }
+
+    private EasternTime() {
+    }
+
+    /**
+     * Offset of New York from GMT at the given instant, in seconds (-18000 or -14400 since 1967).
+     */
+    public static int offsetSeconds(long epochSecond) {
+        if (epochSecond < TABLE_START || epochSecond >= TABLE_END) {
+            return RULES.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        int index = BUCKETS[(int) ((epochSecond - TABLE_START) >>> BUCKET_SHIFT)];
+        while (index < TRANSITIONS.length && TRANSITIONS[index] <= epochSecond) {
+            index++;
+        }
+        return OFFSETS[index];
+    }
+
+    /**
+     * Eastern wall-clock time of {@code epochMillis} as milliseconds of a GMT-based epoch, the
+     * same "local epoch" {@code LocalDateTime.toEpochSecond(ZoneOffset.UTC)} would give.
+     */
+    public static long toEasternLocalMillis(long epochMillis) {
+        return epochMillis + offsetSeconds(Math.floorDiv(epochMillis, 1000)) * 1000L;
+    }
+
+    public static String format(long epochMillis) {
+        byte[] text = new byte[LENGTH];
+        format(epochMillis, text, 0);
+        return new String(text, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the Eastern time of {@code epochMillis} as {@code yyyy-MM-dd'T'HH:mm:ss} at
+     * {@code out[offset]}; returns the offset after it.
+     */
+    public static int format(long epochMillis, byte[] out, int offset) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        long local = epochSecond + offsetSeconds(epochSecond);
+        long days = Math.floorDiv(local, 86400);
+        int secondOfDay = (int) Math.floorMod(local, 86400);
+        // civil date from days since 1970-01-01, after Howard Hinnant's civil_from_days
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            byte[] text = FORMATTER.format(Instant.ofEpochMilli(epochMillis)).getBytes(StandardCharsets.ISO_8859_1);
+            if (text.length != LENGTH) {
+                throw new IllegalArgumentException("Year out of range for " + LENGTH + "-character output: " + year);
+            }
+            System.arraycopy(text, 0, out, offset, LENGTH);
+            return offset + LENGTH;
+        }
+        int y = (int) year;
+        out[offset] = digit(y / 1000);
+        out[offset + 1] = digit(y / 100 % 10);
+        out[offset + 2] = digit(y / 10 % 10);
+        out[offset + 3] = digit(y % 10);
+        out[offset + 4] = '-';
+        twoDigits(month, out, offset + 5);
+        out[offset + 7] = '-';
+        twoDigits(day, out, offset + 8);
+        out[offset + 10] = 'T';
+        twoDigits(secondOfDay / 3600, out, offset + 11);
+        out[offset + 13] = ':';
+        twoDigits(secondOfDay / 60 % 60, out, offset + 14);
+        out[offset + 16] = ':';
+        twoDigits(secondOfDay % 60, out, offset + 17);
+        return offset + LENGTH;
+    }
+
+    /**
+     * Formats {@code count} instants back to back into {@code out}, {@value #LENGTH} bytes each.
+     */
+    public static int formatAll(long[] epochMillis, int from, int count, byte[] out, int offset) {
+        for (int i = from; i < from + count; i++) {
+            offset = format(epochMillis[i], out, offset);
+        }
+        return offset;
+    }
+
+    public static String[] formatAll(long[] epochMillis) {
+        byte[] text = new byte[epochMillis.length * LENGTH];
+        formatAll(epochMillis, 0, epochMillis.length, text, 0);
+        String[] result = new String[epochMillis.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new String(text, i * LENGTH, LENGTH, StandardCharsets.ISO_8859_1);
+        }
+        return result;
+    }
+
+    /**
+     * Eastern time of a GMT ISO-8601 timestamp, e.g. {@code 2024-04-08T14:30:00Z} becomes
+     * {@code 2024-04-08T10:30:00}.
+     */
+    public static String convert(CharSequence gmt) {
+        return format(parseEpochMillis(gmt));
+    }
+
+    public static String[] convertAll(CharSequence[] gmt) {
+        long[] epochMillis = new long[gmt.length];
+        parseAll(gmt, epochMillis);
+        return formatAll(epochMillis);
+    }
+
+    public static void parseAll(CharSequence[] gmt, long[] epochMillis) {
+        if (epochMillis.length < gmt.length) {
+            throw new IllegalArgumentException("Output holds " + epochMillis.length + " values, input has " + gmt.length);
+        }
+        for (int i = 0; i < gmt.length; i++) {
+            epochMillis[i] = parseEpochMillis(gmt[i]);
+        }
+    }
+
+    /**
+     * Epoch milliseconds of an ISO-8601 date-time; without a zone or offset it is read as GMT.
+     */
+    public static long parseEpochMillis(CharSequence text) {
+        long fast = parseFast(text);
+        if (fast != Long.MIN_VALUE) {
+            return fast;
+        }
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, Instant::from, LocalDateTime::from);
+        if (parsed instanceof Instant) {
+            return ((Instant) parsed).toEpochMilli();
+        }
+        return ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // yyyy-MM-ddTHH:mm:ss[.fraction][Z|±hh:mm], or Long.MIN_VALUE for anything else
+    private static long parseFast(CharSequence text) {
+        int length = text.length();
+        if (length < LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-' || (text.charAt(10) != 'T' && text.charAt(10) != 't')
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0
+                || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        int i = LENGTH;
+        int millis = 0;
+        if (i < length && text.charAt(i) == '.') {
+            int scale = 100;
+            i++;
+            int fractionStart = i;
+            for (; i < length && isDigit(text.charAt(i)); i++) {
+                millis += (text.charAt(i) - '0') * scale;
+                scale /= 10;
+            }
+            if (i == fractionStart || i - fractionStart > 9) {
+                return Long.MIN_VALUE;
+            }
+        }
+        int offsetSeconds = 0;
+        if (i < length) {
+            char zone = text.charAt(i);
+            if ((zone == 'Z' || zone == 'z') && i + 1 == length) {
+                i++;
+            } else if ((zone == '+' || zone == '-') && i + 6 == length && text.charAt(i + 3) == ':') {
+                int offsetHours = digits(text, i + 1, 2);
+                int offsetMinutes = digits(text, i + 4, 2);
+                if ((offsetHours | offsetMinutes) < 0 || offsetHours > 18 || offsetMinutes > 59) {
+                    return Long.MIN_VALUE;
+                }
+                offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (zone == '-' ? -1 : 1);
+                i += 6;
+            } else {
+                return Long.MIN_VALUE;
+            }
+        }
+        long epochSecond = daysFromCivil(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return epochSecond * 1000 + millis;
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    // value of count ASCII digits at start, or -1
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static byte digit(int value) {
+        return (byte) ('0' + value);
+    }
+
+    private static void twoDigits(int value, byte[] out, int offset) {
+        out[offset] = digit(value / 10);
+        out[offset + 1] = digit(value % 10);
+    }
+
+    /**
+     * Jackson converter from a GMT ISO-8601 string to the Eastern {@code yyyy-MM-dd'T'HH:mm:ss} string.
+     */
+    public static final class IsoToEastern extends StdConverter<String, String> {
+        @Override
+        public String convert(String value) {
+            return value == null ? null : EasternTime.convert(value);
+        }
+    }
+
+    /**
+     * Jackson converter from epoch milliseconds to the Eastern {@code yyyy-MM-dd'T'HH:mm:ss} string.
+     */
+    public static final class EpochMillisToEastern extends StdConverter<Long, String> {
+        @Override
+        public String convert(Long value) {
+            return value == null ? null : format(value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package H2BulkLoading;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+
+/**
+ * Loads a stream of DTOs into a table over plain JDBC.
+ * <ul>
+ *   <li>{@link Mode#ROW_AT_A_TIME} - one INSERT and one commit per row (the baseline)</li>
+ *   <li>{@link Mode#BATCHED} - JDBC batches of {@code batchSize} rows, one transaction per batch</li>
+ *   <li>{@link Mode#MULTI_ROW} - one INSERT carrying {@code batchSize} value groups, one transaction per statement</li>
+ * </ul>
+ * Rows are pulled from the iterator as they are bound, so a streaming reader such as
+ * JsonRecordReader can feed the loader without the input ever being held in memory.
+ */
+public class BulkLoader<T> {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    public enum Mode {
+        ROW_AT_A_TIME, BATCHED, MULTI_ROW
+    }
+
+    private final Connection connection;
+    private final TableMapping<T> mapping;
+    private final Mode mode;
+    private final int batchSize;
+
+    public BulkLoader(Connection connection, TableMapping<T> mapping) {
+        this(connection, mapping, Mode.BATCHED, DEFAULT_BATCH_SIZE);
+    }
+
+    public BulkLoader(Connection connection, TableMapping<T> mapping, Mode mode, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.connection = connection;
+        this.mapping = mapping;
+        this.mode = mode;
+        this.batchSize = batchSize;
+    }
+
+    public void createTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(mapping.getCreateTable());
+        }
+    }
+
+    /**
+     * @return the number of rows inserted
+     */
+    public long load(Iterator<? extends T> rows) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            switch (mode) {
+                case ROW_AT_A_TIME:
+                    connection.setAutoCommit(true);
+                    return loadRowAtATime(rows);
+                case BATCHED:
+                    connection.setAutoCommit(false);
+                    return loadBatched(rows);
+                default:
+                    connection.setAutoCommit(false);
+                    return loadMultiRow(rows);
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long loadRowAtATime(Iterator<? extends T> rows) throws SQLException {
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(mapping.insertSql(1))) {
+            while (rows.hasNext()) {
+                mapping.getBinder().bind(statement, 1, rows.next());
+                statement.executeUpdate();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long loadBatched(Iterator<? extends T> rows) throws SQLException {
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(mapping.insertSql(1))) {
+            int pending = 0;
+            while (rows.hasNext()) {
+                mapping.getBinder().bind(statement, 1, rows.next());
+                statement.addBatch();
+                count++;
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    connection.commit();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+            }
+        }
+        return count;
+    }
+
+    private long loadMultiRow(Iterator<? extends T> rows) throws SQLException {
+        long count = 0;
+        int columns = mapping.getColumnCount();
+        try (PreparedStatement full = connection.prepareStatement(mapping.insertSql(batchSize))) {
+            Object[] tail = new Object[batchSize];
+            int pending = 0;
+            while (rows.hasNext()) {
+                T row = rows.next();
+                tail[pending] = row;
+                mapping.getBinder().bind(full, pending * columns + 1, row);
+                count++;
+                if (++pending == batchSize) {
+                    full.executeUpdate();
+                    connection.commit();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                // the last, shorter group needs a statement with exactly that many value groups
+                try (PreparedStatement partial = connection.prepareStatement(mapping.insertSql(pending))) {
+                    for (int i = 0; i < pending; i++) {
+                        @SuppressWarnings("unchecked")
+                        T row = (T) tail[i];
+                        mapping.getBinder().bind(partial, i * columns + 1, row);
+                    }
+                    partial.executeUpdate();
+                    connection.commit();
+                }
+            }
+        }
+        return count;
+    }
+}
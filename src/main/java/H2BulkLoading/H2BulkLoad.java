@@ -0,0 +1,34 @@
+package H2BulkLoading;
+
+import JSONFileReading.EntityModel;
+import JSONFileReading.JsonRecordReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class H2BulkLoad {
+    public static void main(String[] args) throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:bulkload", "sa", "")) {
+            BulkLoader<EntityModel> loader = new BulkLoader<>(connection, TableMapping.ENTITY_MODEL);
+            loader.createTable();
+
+            // Rows go from the streaming reader straight into JDBC batches
+            InputStream inputStream = EntityModel.class.getResourceAsStream("/EntityModelList.json");
+            try (JsonRecordReader<EntityModel> reader = JsonRecordReader.forEntityModels(inputStream)) {
+                long loaded = loader.load(reader);
+                System.out.println("Loaded rows: " + loaded);
+            }
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ENTITY_MODEL")) {
+                resultSet.next();
+                System.out.println("Rows in ENTITY_MODEL: " + resultSet.getInt(1));
+            }
+        }
+    }
+}
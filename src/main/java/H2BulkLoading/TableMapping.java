@@ -0,0 +1,77 @@
+package H2BulkLoading;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.EntityModel;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How a DTO maps onto a table: the column list plus a binder that sets one row's
+ * parameters starting at a given index, so several rows can share one statement.
+ */
+public class TableMapping<T> {
+
+    @FunctionalInterface
+    public interface RowBinder<T> {
+        void bind(PreparedStatement statement, int firstIndex, T row) throws SQLException;
+    }
+
+    public static final TableMapping<EntityModel> ENTITY_MODEL = new TableMapping<>(
+            "ENTITY_MODEL",
+            "CREATE TABLE IF NOT EXISTS ENTITY_MODEL (ID INT NOT NULL, NAME VARCHAR(255))",
+            List.of("ID", "NAME"),
+            (statement, i, row) -> {
+                statement.setInt(i, row.getId());
+                statement.setString(i + 1, row.getName());
+            });
+
+    public static final TableMapping<Model> MODEL = new TableMapping<>(
+            "MODEL",
+            "CREATE TABLE IF NOT EXISTS MODEL (ID INT NOT NULL, FRUIT_NAME VARCHAR(255), FRUIT_SERIAL_NUMBER VARCHAR(64))",
+            List.of("ID", "FRUIT_NAME", "FRUIT_SERIAL_NUMBER"),
+            (statement, i, row) -> {
+                statement.setInt(i, row.getId());
+                statement.setString(i + 1, row.getFruitName());
+                statement.setString(i + 2, row.getFruitSerialNumber());
+            });
+
+    private final String table;
+    private final String createTable;
+    private final List<String> columns;
+    private final RowBinder<T> binder;
+
+    public TableMapping(String table, String createTable, List<String> columns, RowBinder<T> binder) {
+        this.table = table;
+        this.createTable = createTable;
+        this.columns = List.copyOf(columns);
+        this.binder = binder;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getCreateTable() {
+        return createTable;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public RowBinder<T> getBinder() {
+        return binder;
+    }
+
+    /**
+     * INSERT statement with {@code rows} value groups, e.g. VALUES (?, ?), (?, ?)
+     */
+    public String insertSql(int rows) {
+        String group = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                + String.join(", ", Collections.nCopies(rows, group));
+    }
+}
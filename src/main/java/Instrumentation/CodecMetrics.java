@@ -0,0 +1,155 @@
+package Instrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers, byte and record counters, and error counters for the read, write, serialize and
+ * clone paths. Every meter is tagged with the operation name and the simple name of the DTO
+ * type, and timers publish a percentile histogram so hot spots show up per type. Percentiles
+ * are computed from the histogram buckets by the backend, so they can be aggregated across
+ * instances and over any time window.
+ * <p>
+ * Meters are registered with {@link Metrics#globalRegistry} by default. Inside the Spring
+ * Boot application the actuator adds its Prometheus registry to the global one, so the
+ * meters appear on {@code /actuator/prometheus}. When used as a library, add any registry
+ * to the global one or call {@link #useRegistry(MeterRegistry)}; without one the meters
+ * are no-ops.
+ */
+public final class CodecMetrics {
+    public static final String DURATION = "codec.duration";
+    public static final String ERRORS = "codec.errors";
+    public static final String BYTES = "codec.bytes";
+    public static final String RECORDS = "codec.records";
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    // Meters of one operation on one type, looked up once instead of on every call
+    private static final class Meters {
+        final Timer duration;
+        final DistributionSummary bytes;
+        final Counter records;
+
+        Meters(MeterRegistry registry, String operation, String type) {
+            duration = Timer.builder(DURATION)
+                    .description("Time spent in a read, write, serialize or clone operation")
+                    .tag("operation", operation)
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            bytes = DistributionSummary.builder(BYTES)
+                    .description("Bytes read or written by an operation")
+                    .baseUnit("bytes")
+                    .tag("operation", operation)
+                    .tag("type", type)
+                    .register(registry);
+            records = Counter.builder(RECORDS)
+                    .description("Records read or written by an operation")
+                    .tag("operation", operation)
+                    .tag("type", type)
+                    .register(registry);
+        }
+    }
+
+    private static volatile MeterRegistry registry = Metrics.globalRegistry;
+    private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Meters>> METERS = new ConcurrentHashMap<>();
+
+    private CodecMetrics() {
+    }
+
+    /**
+     * Replaces the registry meters are recorded to, e.g. a SimpleMeterRegistry in a plain Java program.
+     */
+    public static void useRegistry(MeterRegistry meterRegistry) {
+        registry = meterRegistry;
+        METERS.clear();
+    }
+
+    public static MeterRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Runs {@code body}, recording its duration and counting it as an error if it throws.
+     */
+    public static <T, E extends Exception> T time(String operation, Class<?> type, Operation<T, E> body) throws E {
+        Meters meters = meters(operation, type);
+        long start = System.nanoTime();
+        try {
+            return body.run();
+        } catch (Throwable e) {
+            error(operation, type, e);
+            throw e;
+        } finally {
+            meters.duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Same as {@link #time(String, Class, Operation)} for operations without a result.
+     */
+    public static <E extends Exception> void record(String operation, Class<?> type, Action<E> body) throws E {
+        time(operation, type, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records the duration of an operation started at {@code startNanos} (a System.nanoTime value),
+     * for call sites that throw several checked exception types and cannot use a lambda.
+     */
+    public static void stop(String operation, Class<?> type, long startNanos) {
+        meters(operation, type).duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void bytes(String operation, Class<?> type, long bytes) {
+        meters(operation, type).bytes.record(bytes);
+    }
+
+    public static void records(String operation, Class<?> type, long records) {
+        meters(operation, type).records.increment(records);
+    }
+
+    // Errors are rare, so the per-exception counter is resolved on demand
+    public static void error(String operation, Class<?> type, Throwable error) {
+        Counter.builder(ERRORS)
+                .description("Operations that failed with an exception")
+                .tag("operation", operation)
+                .tag("type", typeName(type))
+                .tag("exception", error.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private static Meters meters(String operation, Class<?> type) {
+        // two map lookups instead of a concatenated key, so the hot path does not allocate
+        ConcurrentHashMap<String, Meters> byOperation = METERS.get(type);
+        if (byOperation == null) {
+            byOperation = METERS.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        Meters meters = byOperation.get(operation);
+        if (meters == null) {
+            meters = byOperation.computeIfAbsent(operation, o -> new Meters(registry, o, typeName(type)));
+        }
+        return meters;
+    }
+
+    private static String typeName(Class<?> type) {
+        return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+    }
+}
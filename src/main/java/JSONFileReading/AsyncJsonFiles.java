@@ -0,0 +1,285 @@
+package JSONFileReading;
+
+import Instrumentation.CodecMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Whole-file JSON reads and writes on {@link AsynchronousFileChannel}, returning futures.
+ * <p>
+ * A read keeps two buffers: while the channel fills one, the bytes of the other are fed to
+ * Jackson's non-blocking parser and its tokens are copied into a {@link TokenBuffer}, which is
+ * bound to the target type once the file ends. Parsing runs in the completion handlers, so the
+ * calling thread only starts the reads and many files can be in flight at once. Writes serialize
+ * to memory, write a temporary sibling asynchronously and replace the target atomically, as
+ * {@link AtomicFiles} does.
+ * <p>
+ * Where the platform has no kernel asynchronous file I/O (Linux, for one), the JDK performs
+ * each read on a thread of the channel's executor: by default its shared pool, or the one
+ * passed to the overloads taking an {@link ExecutorService}. That pool needs at least two
+ * threads for disk reads to overlap with parsing.
+ */
+public final class AsyncJsonFiles {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final CompletionHandler<Integer, CompletableFuture<Integer>> COMPLETE = new CompletionHandler<>() {
+        @Override
+        public void completed(Integer result, CompletableFuture<Integer> future) {
+            future.complete(result);
+        }
+
+        @Override
+        public void failed(Throwable error, CompletableFuture<Integer> future) {
+            future.completeExceptionally(error);
+        }
+    };
+
+    private AsyncJsonFiles() {
+    }
+
+    public static <T> CompletableFuture<T> read(Path file, Class<T> type) {
+        return read(file, type, JsonCodecs.Profile.DEFAULT, null);
+    }
+
+    /**
+     * Reads and binds the whole of {@code file}; the future fails with the I/O or parse error.
+     *
+     * @param executor runs the channel's I/O and completion handlers, or null for the default pool
+     */
+    public static <T> CompletableFuture<T> read(Path file, Class<T> type, JsonCodecs.Profile profile, ExecutorService executor) {
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        AsynchronousFileChannel channel = null;
+        try {
+            channel = executor == null
+                    ? AsynchronousFileChannel.open(file, StandardOpenOption.READ)
+                    : AsynchronousFileChannel.open(file, Set.of(StandardOpenOption.READ), executor);
+            result = new AsyncRead<T>(channel, JsonCodecs.reader(profile, type)).start();
+        } catch (IOException | RuntimeException e) {
+            // the read never started, so nothing else will close the channel
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> {
+            CodecMetrics.stop("json.asyncRead", type, start);
+            if (error != null) {
+                CodecMetrics.error("json.asyncRead", type, unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Reads all {@code files} concurrently; the list is in the order of {@code files}.
+     */
+    public static <T> CompletableFuture<List<T>> readAll(List<Path> files, Class<T> type) {
+        List<CompletableFuture<T>> reads = new ArrayList<>(files.size());
+        for (Path file : files) {
+            reads.add(read(file, type));
+        }
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<T> values = new ArrayList<>(reads.size());
+            for (CompletableFuture<T> read : reads) {
+                values.add(read.join());
+            }
+            return values;
+        });
+    }
+
+    public static CompletableFuture<Void> write(Path target, Object value) {
+        try {
+            byte[] bytes = CodecMetrics.time("json.write", value.getClass(),
+                    () -> JsonCodecs.writer(value.getClass()).writeValueAsBytes(value));
+            return write(target, bytes, null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Writes {@code bytes} to a temporary sibling of {@code target}, forces it to disk and renames
+     * it over the target, so readers see either the old or the new content.
+     */
+    public static CompletableFuture<Void> write(Path target, byte[] bytes, ExecutorService executor) {
+        long start = System.nanoTime();
+        Path temp;
+        try {
+            temp = AtomicFiles.createTempSibling(target);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        AsynchronousFileChannel channel;
+        try {
+            channel = executor == null
+                    ? AsynchronousFileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                    : AsynchronousFileChannel.open(temp, Set.of(StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), executor);
+        } catch (IOException e) {
+            // nothing will commit or clean up the temp file now
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        return writeFrom(channel, ByteBuffer.wrap(bytes), 0).thenRun(() -> {
+            try (AsynchronousFileChannel closing = channel) {
+                closing.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                AtomicFiles.commit(temp, target);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((done, error) -> {
+            CodecMetrics.stop("json.asyncWrite", byte[].class, start);
+            if (error == null) {
+                CodecMetrics.bytes("json.asyncWrite", byte[].class, bytes.length);
+                return;
+            }
+            CodecMetrics.error("json.asyncWrite", byte[].class, unwrap(error));
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                // the write already failed; keep that error
+            }
+        });
+    }
+
+    // Writes until the buffer is drained; a write may complete only partially
+    private static CompletableFuture<Void> writeFrom(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        CompletableFuture<Integer> write = new CompletableFuture<>();
+        channel.write(buffer, position, write, COMPLETE);
+        return write.thenCompose(written -> buffer.hasRemaining()
+                ? writeFrom(channel, buffer, position + written)
+                : CompletableFuture.completedFuture(null));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * State of one read: the channel, the two buffers and the parser they are fed to.
+     * Handlers never overlap, since the next chunk is only looked at after the current one is parsed.
+     */
+    private static final class AsyncRead<T> {
+        private final AsynchronousFileChannel channel;
+        private final ObjectReader reader;
+        private final ByteBuffer[] buffers = {ByteBuffer.allocate(BUFFER_SIZE), ByteBuffer.allocate(BUFFER_SIZE)};
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final TokenBuffer tokens;
+        private long position;
+        private int current;
+
+        AsyncRead(AsynchronousFileChannel channel, ObjectReader reader) throws IOException {
+            this.channel = channel;
+            this.reader = reader;
+            this.parser = JsonCodecs.factory().createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.tokens = new TokenBuffer(parser);
+        }
+
+        CompletableFuture<T> start() {
+            pump(readInto(buffers[current]));
+            return result;
+        }
+
+        private CompletableFuture<Integer> readInto(ByteBuffer buffer) {
+            CompletableFuture<Integer> read = new CompletableFuture<>();
+            buffer.clear();
+            channel.read(buffer, position, read, COMPLETE);
+            return read;
+        }
+
+        // Parses completed chunks in a loop; returns once a read is still in flight
+        private void pump(CompletableFuture<Integer> pending) {
+            try {
+                while (pending.isDone()) {
+                    int read = pending.join();
+                    if (read < 0) {
+                        finish();
+                        return;
+                    }
+                    ByteBuffer chunk = buffers[current];
+                    position += read;
+                    current ^= 1;
+                    // start reading the next chunk before parsing this one
+                    pending = readInto(buffers[current]);
+                    feed(chunk.array(), read);
+                }
+                CompletableFuture<Integer> inFlight = pending;
+                inFlight.whenComplete((read, error) -> pump(inFlight));
+            } catch (IOException | RuntimeException e) {
+                fail(unwrap(e));
+            }
+        }
+
+        private void feed(byte[] chunk, int length) throws IOException {
+            feeder.feedInput(chunk, 0, length);
+            drain();
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                tokens.copyCurrentEvent(parser);
+            }
+        }
+
+        private void finish() throws IOException {
+            feeder.endOfInput();
+            drain();
+            close();
+            CodecMetrics.bytes("json.asyncRead", reader.getValueType().getRawClass(), position);
+            try (JsonParser buffered = tokens.asParser(reader)) {
+                result.complete(reader.readValue(buffered));
+            }
+        }
+
+        private void fail(Throwable error) {
+            try {
+                close();
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            }
+            result.completeExceptionally(error);
+        }
+
+        private void close() throws IOException {
+            try {
+                parser.close();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
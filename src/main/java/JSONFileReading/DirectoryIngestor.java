@@ -0,0 +1,133 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reads every matching JSON file of a directory into {@code T} on a bounded pool of workers.
+ * <p>
+ * Files are listed lazily and at most {@code maxInFlight} of them are being read or waiting
+ * for the sink at any time, so memory stays bounded even for directories with many thousands
+ * of files. Each file is reported to the sink as a {@link FileResult}, successful or not;
+ * one bad file never aborts the run. The sink is called from worker threads and must be thread-safe;
+ * if it throws, no further files are read and the exception is rethrown from {@code ingest}.
+ * <pre>
+ * try (DirectoryIngestor&lt;Model&gt; ingestor = new DirectoryIngestor&lt;&gt;(Model.class)) {
+ *     int failed = ingestor.ingest(dir, "*.json", result -&gt; ...);
+ * }
+ * </pre>
+ */
+public class DirectoryIngestor<T> implements Closeable {
+    private final ObjectReader reader;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+
+    public DirectoryIngestor(Class<T> type) {
+        this(type, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public DirectoryIngestor(Class<T> type, int parallelism, int maxInFlight) {
+        if (parallelism <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("parallelism and maxInFlight must be positive");
+        }
+        this.reader = JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type);
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Reads all files in {@code directory} matching {@code glob} and blocks until each one
+     * has been handed to {@code sink}. If the calling thread is interrupted, no further files
+     * are handed out and, once the files already handed out are done, an
+     * {@link InterruptedIOException} is thrown.
+     *
+     * @return the number of files that failed
+     */
+    public int ingest(Path directory, String glob, Consumer<FileResult<T>> sink) throws IOException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger failed = new AtomicInteger();
+        Queue<RuntimeException> sinkErrors = new ConcurrentLinkedQueue<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                if (!sinkErrors.isEmpty()) {
+                    // the sink is broken; stop handing it more files
+                    break;
+                }
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                // blocks the lister while the workers and the sink catch up
+                inFlight.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            FileResult<T> result = read(file);
+                            if (!result.isSuccess()) {
+                                failed.incrementAndGet();
+                            }
+                            sink.accept(result);
+                        } catch (RuntimeException e) {
+                            sinkErrors.add(e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while ingesting " + directory);
+        } finally {
+            // wait for the files already handed out, also when listing failed or was interrupted,
+            // so no worker still calls the sink after ingest returns; an interrupt stays pending
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+        RuntimeException sinkError = sinkErrors.poll();
+        if (sinkError != null) {
+            sinkErrors.forEach(sinkError::addSuppressed);
+            throw sinkError;
+        }
+        return failed.get();
+    }
+
+    private FileResult<T> read(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return FileResult.success(file, reader.readValue(inputStream));
+        } catch (Exception e) {
+            return FileResult.failure(file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
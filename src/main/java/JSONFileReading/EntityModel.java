@@ -1,6 +1,12 @@
 package JSONFileReading;
 
+import codegen.GeneratedCodec;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+@GeneratedCodec
 public class EntityModel {
+    @Positive
     int id;
 
     public int getId() {
@@ -19,6 +25,7 @@ public class EntityModel {
         Name = name;
     }
 
+    @NotBlank
     String Name;
 
 }
@@ -0,0 +1,27 @@
+package JSONFileReading;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of reading one file: either the parsed value or the error that prevented it.
+ */
+@Value
+public class FileResult<T> {
+    Path path;
+    T value;
+    Exception error;
+
+    public static <T> FileResult<T> success(Path path, T value) {
+        return new FileResult<>(path, value, null);
+    }
+
+    public static <T> FileResult<T> failure(Path path, Exception error) {
+        return new FileResult<>(path, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
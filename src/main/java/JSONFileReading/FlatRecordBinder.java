@@ -0,0 +1,207 @@
+package JSONFileReading;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binds flat JSON objects (string, number, boolean or null values only) into a DTO for
+ * {@link StructuralJsonReader}. Keys are matched against the declared field names by
+ * comparing bytes, values are decoded only through the typed accessors of {@link Value}.
+ * Unknown keys are ignored, as with the IGNORE_UNKNOWN profile.
+ */
+public abstract class FlatRecordBinder<T> {
+
+    public static final FlatRecordBinder<EntityModel> ENTITY_MODEL =
+            new FlatRecordBinder<>(EntityModel.class, "id", "name") {
+                @Override
+                protected EntityModel create() {
+                    return new EntityModel();
+                }
+
+                @Override
+                protected void set(EntityModel record, int field, Value value) throws IOException {
+                    if (field == 0) {
+                        record.setId(value.asInt());
+                    } else {
+                        record.setName(value.asString());
+                    }
+                }
+            };
+
+    public static final FlatRecordBinder<Model> MODEL =
+            new FlatRecordBinder<>(Model.class, "id", "fruitName", "fruitSerialNumber") {
+                @Override
+                protected Model create() {
+                    return new Model();
+                }
+
+                @Override
+                protected void set(Model record, int field, Value value) throws IOException {
+                    switch (field) {
+                        case 0:
+                            record.setId(value.asInt());
+                            break;
+                        case 1:
+                            record.setFruitName(value.asString());
+                            break;
+                        default:
+                            record.setFruitSerialNumber(value.asString());
+                    }
+                }
+            };
+
+    private final Class<T> type;
+    private final byte[][] names;
+
+    protected FlatRecordBinder(Class<T> type, String... fieldNames) {
+        this.type = type;
+        this.names = new byte[fieldNames.length][];
+        for (int i = 0; i < fieldNames.length; i++) {
+            names[i] = fieldNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    protected abstract T create();
+
+    protected abstract void set(T record, int field, Value value) throws IOException;
+
+    // index of the field whose name equals buf[start, end), or -1
+    final int field(byte[] buf, int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i];
+            if (name.length == length && matches(name, buf, start)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] name, byte[] buf, int start) {
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != buf[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One value of the current record, reused for every field.
+     */
+    public static final class Value {
+        private byte[] buf;
+        private int start;
+        private int end;
+        private boolean string;
+        private boolean escaped;
+
+        void setString(byte[] buf, int start, int end, boolean escaped) {
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+            this.string = true;
+            this.escaped = escaped;
+        }
+
+        // trims the whitespace around a number or literal
+        void setScalar(byte[] buf, int start, int end) {
+            while (start < end && buf[start] <= ' ') {
+                start++;
+            }
+            while (end > start && buf[end - 1] <= ' ') {
+                end--;
+            }
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+            this.string = false;
+            this.escaped = false;
+        }
+
+        public boolean isNull() {
+            return !string && end - start == 4 && buf[start] == 'n';
+        }
+
+        /**
+         * A JSON null reads as 0, and a quoted number is accepted, as with Jackson's default coercions.
+         * Anything but a plain integer in range (1.0, 1e2, "x") makes the reader bind the whole
+         * record with Jackson instead, so its coercions and errors apply unchanged.
+         */
+        public int asInt() throws IOException {
+            long value = asLong();
+            if ((int) value != value) {
+                throw NotFlat.INSTANCE;
+            }
+            return (int) value;
+        }
+
+        public long asLong() throws IOException {
+            if (isNull()) {
+                return 0;
+            }
+            int i = start;
+            boolean negative = i < end && buf[i] == '-';
+            if (negative) {
+                i++;
+            }
+            if (i == end) {
+                throw NotFlat.INSTANCE;
+            }
+            long result = 0;
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9 || result < (Long.MIN_VALUE + digit) / 10) {
+                    throw NotFlat.INSTANCE;
+                }
+                result = result * 10 - digit;
+            }
+            if (!negative && result == Long.MIN_VALUE) {
+                throw NotFlat.INSTANCE;
+            }
+            return negative ? result : -result;
+        }
+
+        /**
+         * The decoded string, the text of a number or literal, or null for a JSON null.
+         */
+        public String asString() throws IOException {
+            if (!string) {
+                return isNull() ? null : text();
+            }
+            if (!escaped) {
+                return new String(buf, start, end - start, StandardCharsets.UTF_8);
+            }
+            // rare: let Jackson decode the escapes of the quoted string
+            try (JsonParser parser = JsonCodecs.factory().createParser(buf, start - 1, end - start + 2)) {
+                parser.nextToken();
+                return parser.getText();
+            }
+        }
+
+        private String text() {
+            return new String(buf, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Thrown by Value for input the fast path does not decode; the reader then binds the record with Jackson
+    static final class NotFlat extends IOException {
+        static final NotFlat INSTANCE = new NotFlat();
+
+        private NotFlat() {
+            super("value left to Jackson");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
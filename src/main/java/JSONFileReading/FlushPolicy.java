@@ -0,0 +1,30 @@
+package JSONFileReading;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Group-commit rules for {@link JsonRecordWriter}: buffered records are pushed to the
+ * file once any limit is reached. {@code maxDelay} is checked on every write and by a
+ * background timer, so it also bounds how long an idle writer holds records; zero disables
+ * the timer. With {@code sync} set, each flush is also forced to disk.
+ */
+@Value
+public class FlushPolicy {
+    int maxRecords;
+    long maxBytes;
+    Duration maxDelay;
+    boolean sync;
+
+    /**
+     * Flushes every 10 000 records, 1 MB or second, without forcing to disk.
+     */
+    public static FlushPolicy defaults() {
+        return new FlushPolicy(10_000, 1024 * 1024, Duration.ofSeconds(1), false);
+    }
+
+    public static FlushPolicy everyRecord() {
+        return new FlushPolicy(1, Long.MAX_VALUE, Duration.ZERO, false);
+    }
+}
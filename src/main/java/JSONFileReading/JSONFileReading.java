@@ -1,32 +1,75 @@
 package JSONFileReading;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Instrumentation.CodecMetrics;
+import jakarta.validation.ConstraintViolation;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 public class JSONFileReading {
     public static void main(String[] args) throws FileNotFoundException,IOException {
+        // --follow <directory>: tail the directory's NDJSON files instead of reading whole files
+        if (args.length == 2 && args[0].equals("--follow")) {
+            followDirectory(Path.of(args[1]));
+            return;
+        }
         System.out.println("Opening File");
         getFile();
+        streamFile("/EntityModelList.json", 2);
     }
     public static void getFile() throws IOException {
 //        FileReader fileReader=new FileReader("/src/main/resources/EntityModel.json");
 //        System.out.println(fileReader);
 
-        InputStream inputStream=null;
-        inputStream=EntityModel.class.getResourceAsStream("/EntityModel.json");
-
+        // Parsed once and served from the cache until the resource changes
         //EntityModel entityModel=new EntityModel();
-        ObjectMapper objectMapper=new ObjectMapper();
-        EntityModel entityModel1 = objectMapper.readValue(inputStream, new TypeReference<EntityModel>() {});
+        EntityModel entityModel1 = CodecMetrics.time("json.getFile", EntityModel.class,
+                () -> ParsedResourceCache.DEFAULT.get("/EntityModel.json", EntityModel.class, JsonCodecs.Profile.DEFAULT));
+        CodecMetrics.records("json.getFile", EntityModel.class, 1);
 
-        if(entityModel1.getId()!=0 && !entityModel1.getName().isEmpty()){
+        // Constraints declared on EntityModel, checked by the cached validator
+        Set<ConstraintViolation<EntityModel>> violations = RecordValidator.forType(EntityModel.class).validate(entityModel1);
+        if(violations.isEmpty()){
             System.out.println("Deserialized ID: "+entityModel1.getId());
             System.out.println("Deserialized Name: "+entityModel1.getName());
+        } else {
+            System.out.println("Invalid EntityModel: "+new RejectedRecord<>(0, entityModel1, violations).message());
+        }
+    }
+
+    // Reads a file from disk through a memory mapping instead of a classpath stream
+    public static EntityModel getFile(Path path) throws IOException {
+        EntityModel entityModel = CodecMetrics.time("json.getFile", EntityModel.class,
+                () -> MappedFiles.read(path, EntityModel.class));
+        CodecMetrics.records("json.getFile", EntityModel.class, 1);
+        return entityModel;
+    }
+
+    // Incremental ingestion: resumes from the offsets in <directory>/.offsets and parses only appended lines
+    public static void followDirectory(Path directory) throws IOException {
+        try (TailFollower<EntityModel> follower = new TailFollower<>(directory, "*.ndjson", EntityModel.class,
+                directory.resolve(".offsets"))) {
+            follower.follow(entityModel -> System.out.println("Followed ID: " + entityModel.getId()));
+        }
+    }
+
+    // Streams a large array of EntityModel records one at a time instead of binding the whole document
+    public static void streamFile(String resource, int batchSize) throws IOException {
+        InputStream inputStream = EntityModel.class.getResourceAsStream(resource);
+        try (JsonRecordReader<EntityModel> reader = JsonRecordReader.forEntityModels(inputStream)) {
+            Iterator<List<EntityModel>> batches = reader.batches(batchSize);
+            while (batches.hasNext()) {
+                List<EntityModel> batch = batches.next();
+                CodecMetrics.records("json.stream", EntityModel.class, batch.size());
+                System.out.println("Streamed batch of " + batch.size() + " records");
+            }
         }
     }
 }
@@ -1,16 +1,19 @@
 package JSONFileReading;
 
+import Instrumentation.CodecMetrics;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
+import com.fasterxml.jackson.core.type.TypeReference;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class JSONFileReadingEasyWay {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
     public static void main(String[] args) {
         MyClass myObject = new MyClass("example", 123);
         // Convert the object to JSON string
@@ -19,49 +22,64 @@ public class JSONFileReadingEasyWay {
         // Save JSON string to a file
         String filePath = "src/main/resources/output.json"; // Specify the file path
         saveJsonToFile(jsonString, filePath);
-        // Convert JSON string back to Map
         try {
-            Map<String, String> jsonMap = getJsonAsMap(jsonString);
+            // Convert JSON string back to Map
+            Map<String, Object> jsonMap = getJsonAsMap(jsonString);
             System.out.println("JSON as Map: " + jsonMap);
+            // Field lookups without building a Map
+            JsonObjectView jsonView = getJsonAsView(jsonString);
+            System.out.println("JSON as View: name=" + jsonView.getString("name") + ", value=" + jsonView.getInt("value"));
+            // Convert JSON string back to MyClass object
+            MyClass newObject = readJsonAsObject(jsonString, MyClass.class);
+            System.out.println("Deserialized Object: " + newObject);
         } catch (IOException e) {
             e.printStackTrace();
         }
-        // Convert JSON string back to MyClass object
-        MyClass newObject = readJsonAsObject(jsonString, new MyClass("", 0));
-        System.out.println("Deserialized Object: " + newObject);
     }
 
     //Read JSON Data
     public static <T> String getAsJsonString(final T message) {
-        final ObjectMapper map = new ObjectMapper();
-        final Gson gson = new Gson();
-        map.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        map.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
         try {
-            return gson.toJson(message);
+            return CodecMetrics.time("json.write", message == null ? Object.class : message.getClass(),
+                    () -> JsonCodecs.gson().toJson(message));
         } catch (final Exception e) {
             System.out.println(e);
         }
         return null;
     }
 
-    public static Map<String, String> getJsonAsMap(String data) throws IOException {
-        Map<String, String> map = new HashMap<String, String>();
-        ObjectMapper mapper = new ObjectMapper();
-        map = mapper.readValue(data, HashMap.class);
-        return map;
+    // Values keep their JSON types: numbers come back as Integer/Long/Double, not String
+    public static Map<String, Object> getJsonAsMap(String data) throws IOException {
+        TypedJsonReader<Map<String, Object>> reader = JsonCodecs.typedReader(JsonCodecs.Profile.DEFAULT, MAP_TYPE);
+        return CodecMetrics.time("json.read", Map.class, () -> reader.read(data));
+    }
+
+    // Lazily decoded alternative to getJsonAsMap for documents that are only queried for a few fields
+    public static JsonObjectView getJsonAsView(String data) throws IOException {
+        return CodecMetrics.time("json.view", JsonObjectView.class, () -> JsonObjectView.of(data));
+    }
+
+    // Typed read: the target type is passed directly, failures surface as exceptions
+    public static <T> T readJsonAsObject(final String text, final Class<T> type) throws IOException {
+        TypedJsonReader<T> reader = JsonCodecs.typedReader(JsonCodecs.Profile.LENIENT, type);
+        return CodecMetrics.time("json.read", type, () -> reader.read(text));
+    }
+
+    // For generic targets such as List<MyClass>
+    public static <T> T readJsonAsObject(final String text, final TypeReference<T> type) throws IOException {
+        TypedJsonReader<T> reader = JsonCodecs.typedReader(JsonCodecs.Profile.LENIENT, type);
+        return CodecMetrics.time("json.read", reader.objectReader().getValueType().getRawClass(), () -> reader.read(text));
     }
 
+    /**
+     * @deprecated allocates an instance only to name its type and hides failures as null;
+     * use {@link #readJsonAsObject(String, Class)} instead.
+     */
+    @Deprecated
+    @SuppressWarnings("unchecked")
     public static <T> T readJsonAsObject(final String text, final T t) {
-        T response = null;
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
-            mapper.configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true);
-
-            response = (T) mapper.readValue(text, t.getClass());
-            return response;
+            return readJsonAsObject(text, (Class<T>) t.getClass());
         } catch (final JsonProcessingException e) {
             System.out.println(e);
         } catch (final IOException e) {
@@ -69,20 +87,28 @@ public class JSONFileReadingEasyWay {
         }
         return null;
     }
-    // Method to save JSON string to a file
+    // Method to save JSON string to a file, replaced atomically so readers never see a partial file
     public static void saveJsonToFile(String jsonString, String filePath) {
-        try (FileWriter fileWriter = new FileWriter(filePath)) {
-            fileWriter.write(jsonString);
+        try {
+            byte[] bytes = jsonString.getBytes(StandardCharsets.UTF_8);
+            CodecMetrics.record("json.save", String.class, () -> AtomicFiles.write(Path.of(filePath), bytes));
+            CodecMetrics.bytes("json.save", String.class, bytes.length);
             System.out.println("JSON saved to file: " + filePath);
         } catch (IOException e) {
             System.err.println("Error writing to file: " + e.getMessage());
         }
     }
 
+    // Non-blocking variant of saveJsonToFile; the future completes once the file has been replaced
+    public static CompletableFuture<Void> saveJsonToFileAsync(String jsonString, String filePath) {
+        return AsyncJsonFiles.write(Path.of(filePath), jsonString.getBytes(StandardCharsets.UTF_8), null);
+    }
+
     /*
     Output:
     JSON String: {"name":"example","value":123}
     JSON as Map: {name=example, value=123}
+    JSON as View: name=example, value=123
     Deserialized Object: MyClass{name='example', value=123}
      */
 }
@@ -0,0 +1,119 @@
+package JSONFileReading;
+
+import codegen.GeneratedCodecs;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.gson.Gson;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared registry of pre-configured JSON codecs.
+ * ObjectMapper and Gson are thread-safe once configured, so one instance per
+ * profile is built up front and every reader/writer derived from it is cached
+ * per type instead of being rebuilt on each call. Every profile binds the
+ * {@link codegen.GeneratedCodec} types with their generated codecs.
+ */
+public final class JsonCodecs {
+
+    /**
+     * Feature profiles used across the repo.
+     */
+    public enum Profile {
+        /** Plain Jackson defaults, as used by JSONFileReading.getFile and getJsonAsMap. */
+        DEFAULT,
+        /** Ignores unknown properties, as used by createDTOAndReadJsonFile.readModel. */
+        IGNORE_UNKNOWN,
+        /** Ignores unknown properties and accepts single values / empty arrays, as used by readJsonAsObject. */
+        LENIENT
+    }
+
+    private static final Gson GSON = new Gson();
+    private static final Map<Profile, Codec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        CODECS.put(Profile.DEFAULT, new Codec(new ObjectMapper()
+                .registerModule(GeneratedCodecs.module())));
+        CODECS.put(Profile.IGNORE_UNKNOWN, new Codec(new ObjectMapper()
+                .registerModule(GeneratedCodecs.module())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)));
+        CODECS.put(Profile.LENIENT, new Codec(new ObjectMapper()
+                .registerModule(GeneratedCodecs.module())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+                .configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)));
+    }
+
+    private JsonCodecs() {
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    public static JsonFactory factory() {
+        return CODECS.get(Profile.DEFAULT).mapper.getFactory();
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return reader(Profile.DEFAULT, type);
+    }
+
+    public static ObjectReader reader(Profile profile, Type type) {
+        return CODECS.get(profile).reader(type);
+    }
+
+    public static ObjectReader reader(Profile profile, TypeReference<?> type) {
+        return reader(profile, type.getType());
+    }
+
+    public static <T> TypedJsonReader<T> typedReader(Profile profile, Class<T> type) {
+        return CODECS.get(profile).typedReader(type);
+    }
+
+    public static <T> TypedJsonReader<T> typedReader(Profile profile, TypeReference<T> type) {
+        return CODECS.get(profile).typedReader(type.getType());
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return writer(Profile.DEFAULT, type);
+    }
+
+    public static ObjectWriter writer(Profile profile, Class<?> type) {
+        return CODECS.get(profile).writer(type);
+    }
+
+    private static final class Codec {
+        private final ObjectMapper mapper;
+        private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+        private final Map<Type, TypedJsonReader<?>> typedReaders = new ConcurrentHashMap<>();
+        private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        private Codec(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        private ObjectReader reader(Type type) {
+            return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> TypedJsonReader<T> typedReader(Type type) {
+            TypedJsonReader<?> typed = typedReaders.get(type);
+            if (typed == null) {
+                typed = typedReaders.computeIfAbsent(type, t -> new TypedJsonReader<>(reader(t)));
+            }
+            return (TypedJsonReader<T>) typed;
+        }
+
+        private ObjectWriter writer(Class<?> type) {
+            return writers.computeIfAbsent(type, mapper::writerFor);
+        }
+    }
+}
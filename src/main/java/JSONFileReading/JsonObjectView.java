@@ -0,0 +1,598 @@
+package JSONFileReading;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only view of one JSON object backed by its raw UTF-8 bytes.
+ * <p>
+ * Parsing only scans the top level once and records, per field, where its key and value
+ * start and end, plus the key's hash. Keys go into an open-addressing index whose hash
+ * is the same as {@link String#hashCode()} of the decoded key, so a lookup with a string
+ * literal (whose hash is cached) compares bytes in place and never builds a key string.
+ * Values are decoded only when asked for: {@code getInt}/{@code getLong} parse digits
+ * straight from the bytes, nested objects and arrays are skipped until requested.
+ * <p>
+ * A view can be {@link #reset} onto the next document and reuses its arrays, so a loop
+ * over many documents allocates nothing beyond the strings it explicitly asks for.
+ * Views are not thread-safe. Validation is shallow: scalars are checked by their accessor,
+ * and nested objects and arrays are only skipped over until {@link #getObject} is called.
+ */
+public final class JsonObjectView {
+
+    public enum Kind {
+        STRING, NUMBER, TRUE, FALSE, NULL, OBJECT, ARRAY
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final int ESCAPED = 0x80;
+    private static final int KIND_MASK = 0x7F;
+    // key start, key end, value start, value end, key hash
+    private static final int STRIDE = 5;
+
+    private byte[] json;
+    private int end;
+    private int size;
+    private int[] fields = new int[8 * STRIDE];
+    private byte[] kinds = new byte[8];
+    private int[] index = new int[16];
+    private int mask;
+    private boolean lastStringEscaped;
+
+    public JsonObjectView() {
+    }
+
+    public static JsonObjectView of(byte[] json) throws IOException {
+        return new JsonObjectView().reset(json, 0, json.length);
+    }
+
+    public static JsonObjectView of(String json) throws IOException {
+        return of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Points this view at the object in {@code json[offset, offset + length)}, reusing its arrays.
+     */
+    public JsonObjectView reset(byte[] json, int offset, int length) throws IOException {
+        this.json = json;
+        this.end = offset + length;
+        this.size = 0;
+        int pos = skipWhitespace(offset);
+        if (pos >= end || json[pos] != '{') {
+            throw malformed(pos, "expected '{'");
+        }
+        pos = skipWhitespace(pos + 1);
+        if (pos < end && json[pos] == '}') {
+            buildIndex();
+            return this;
+        }
+        while (true) {
+            if (pos >= end || json[pos] != '"') {
+                throw malformed(pos, "expected a field name");
+            }
+            int keyEnd = skipString(pos);
+            boolean keyEscaped = lastStringEscaped;
+            int colon = skipWhitespace(keyEnd + 1);
+            if (colon >= end || json[colon] != ':') {
+                throw malformed(colon, "expected ':'");
+            }
+            int valueStart = skipWhitespace(colon + 1);
+            int kind = kindAt(valueStart);
+            int valueEnd = skipValue(valueStart, kind);
+            if (kind == Kind.STRING.ordinal() && lastStringEscaped) {
+                kind |= ESCAPED;
+            }
+            addField(pos + 1, keyEnd, keyEscaped, valueStart, valueEnd, kind);
+            pos = skipWhitespace(valueEnd);
+            if (pos >= end) {
+                throw malformed(pos, "unterminated object");
+            }
+            if (json[pos] == '}') {
+                break;
+            }
+            if (json[pos] != ',') {
+                throw malformed(pos, "expected ',' or '}'");
+            }
+            pos = skipWhitespace(pos + 1);
+        }
+        buildIndex();
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean has(String key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Kind of the value stored under {@code key}, or null if there is no such field.
+     */
+    public Kind kind(String key) {
+        int field = find(key);
+        return field < 0 ? null : kindOf(field);
+    }
+
+    public boolean isNull(String key) {
+        return kind(key) == Kind.NULL;
+    }
+
+    public int getInt(String key) {
+        long value = getLong(key);
+        if ((int) value != value) {
+            throw new NumberFormatException("Field '" + key + "' is out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        int field = find(key);
+        return field < 0 || kindOf(field) == Kind.NULL ? defaultValue : getInt(key);
+    }
+
+    public long getLong(String key) {
+        int field = require(key, Kind.NUMBER);
+        return parseLong(key, fields[field * STRIDE + 2], fields[field * STRIDE + 3]);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        int field = find(key);
+        return field < 0 || kindOf(field) == Kind.NULL ? defaultValue : getLong(key);
+    }
+
+    public double getDouble(String key) {
+        int field = require(key, Kind.NUMBER);
+        int start = fields[field * STRIDE + 2];
+        int stop = fields[field * STRIDE + 3];
+        for (int i = start; i < stop; i++) {
+            byte b = json[i];
+            if (b == '.' || b == 'e' || b == 'E') {
+                return Double.parseDouble(new String(json, start, stop - start, StandardCharsets.ISO_8859_1));
+            }
+        }
+        return parseLong(key, start, stop);
+    }
+
+    public boolean getBoolean(String key) {
+        int field = find(key);
+        if (field >= 0 && kindOf(field) == Kind.TRUE) {
+            return true;
+        }
+        require(key, Kind.FALSE);
+        return false;
+    }
+
+    /**
+     * Decodes a string value; a JSON null yields null.
+     */
+    public String getString(String key) {
+        int field = find(key);
+        if (field >= 0 && kindOf(field) == Kind.NULL) {
+            return null;
+        }
+        require(key, Kind.STRING);
+        int start = fields[field * STRIDE + 2] + 1;
+        int stop = fields[field * STRIDE + 3] - 1;
+        if ((kinds[field] & ESCAPED) == 0) {
+            return new String(json, start, stop - start, StandardCharsets.UTF_8);
+        }
+        StringBuilder decoded = new StringBuilder(stop - start);
+        for (int pos = start; pos < stop; ) {
+            long next = decodeCodePoint(pos);
+            decoded.appendCodePoint((int) next);
+            pos = (int) (next >>> 32);
+        }
+        return decoded.toString();
+    }
+
+    public String getString(String key, String defaultValue) {
+        return find(key) < 0 ? defaultValue : getString(key);
+    }
+
+    /**
+     * A view of a nested object; it shares this view's bytes but has its own index.
+     */
+    public JsonObjectView getObject(String key) throws IOException {
+        int field = require(key, Kind.OBJECT);
+        int start = fields[field * STRIDE + 2];
+        return new JsonObjectView().reset(json, start, fields[field * STRIDE + 3] - start);
+    }
+
+    /**
+     * The value's JSON text exactly as it appears in the document.
+     */
+    public String getRaw(String key) {
+        int field = find(key);
+        if (field < 0) {
+            throw new NoSuchElementException("No field '" + key + "'");
+        }
+        int start = fields[field * STRIDE + 2];
+        return new String(json, start, fields[field * STRIDE + 3] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Field names in document order; decodes and allocates every key, so it is meant for debugging.
+     */
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>(size);
+        for (int field = 0; field < size; field++) {
+            StringBuilder key = new StringBuilder();
+            for (int pos = fields[field * STRIDE]; pos < fields[field * STRIDE + 1]; ) {
+                long next = decodeCodePoint(pos);
+                key.appendCodePoint((int) next);
+                pos = (int) (next >>> 32);
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonObjectView" + keys();
+    }
+
+    private Kind kindOf(int field) {
+        return KINDS[kinds[field] & KIND_MASK];
+    }
+
+    private int require(String key, Kind kind) {
+        int field = find(key);
+        if (field < 0) {
+            throw new NoSuchElementException("No field '" + key + "'");
+        }
+        if (kindOf(field) != kind) {
+            throw new IllegalStateException("Field '" + key + "' is " + kindOf(field) + ", not " + kind);
+        }
+        return field;
+    }
+
+    // --- index ---
+
+    private int find(String key) {
+        if (size == 0) {
+            return -1;
+        }
+        int hash = key.hashCode();
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int field = entry - 1;
+            if (fields[field * STRIDE + 4] == hash && keyEquals(field, key)) {
+                return field;
+            }
+        }
+    }
+
+    private void buildIndex() {
+        int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+        if (index.length < capacity) {
+            index = new int[capacity];
+        } else {
+            Arrays.fill(index, 0, capacity, 0);
+        }
+        mask = capacity - 1;
+        for (int field = 0; field < size; field++) {
+            int hash = fields[field * STRIDE + 4];
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) {
+                    index[slot] = field + 1;
+                    break;
+                }
+                if (fields[(entry - 1) * STRIDE + 4] == hash && keysEqual(entry - 1, field)) {
+                    // duplicate key: the last occurrence wins, as with Jackson's Map binding
+                    index[slot] = field + 1;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void addField(int keyStart, int keyEnd, boolean keyEscaped, int valueStart, int valueEnd, int kind) {
+        if (size == kinds.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+            kinds = Arrays.copyOf(kinds, kinds.length * 2);
+        }
+        int base = size * STRIDE;
+        fields[base] = keyStart;
+        fields[base + 1] = keyEnd;
+        fields[base + 2] = valueStart;
+        fields[base + 3] = valueEnd;
+        fields[base + 4] = keyEscaped || !isAscii(keyStart, keyEnd) ? hashDecoded(keyStart, keyEnd) : hashAscii(keyStart, keyEnd);
+        kinds[size] = (byte) kind;
+        size++;
+    }
+
+    private boolean isAscii(int start, int stop) {
+        for (int i = start; i < stop; i++) {
+            if (json[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashAscii(int start, int stop) {
+        int hash = 0;
+        for (int i = start; i < stop; i++) {
+            hash = 31 * hash + json[i];
+        }
+        return hash;
+    }
+
+    // String.hashCode of the decoded key: UTF-16 code units, so supplementary characters count twice
+    private int hashDecoded(int start, int stop) {
+        int hash = 0;
+        for (int pos = start; pos < stop; ) {
+            long next = decodeCodePoint(pos);
+            int codePoint = (int) next;
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                hash = 31 * hash + codePoint;
+            } else {
+                hash = 31 * (31 * hash + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+            }
+            pos = (int) (next >>> 32);
+        }
+        return hash;
+    }
+
+    private boolean keyEquals(int field, String key) {
+        int pos = fields[field * STRIDE];
+        int stop = fields[field * STRIDE + 1];
+        int length = key.length();
+        int k = 0;
+        while (pos < stop) {
+            byte b = json[pos];
+            if (b >= 0 && b != '\\') {
+                if (k == length || key.charAt(k) != b) {
+                    return false;
+                }
+                k++;
+                pos++;
+                continue;
+            }
+            long next = decodeCodePoint(pos);
+            int codePoint = (int) next;
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (k == length || key.charAt(k) != codePoint) {
+                    return false;
+                }
+                k++;
+            } else {
+                if (k + 1 >= length || key.codePointAt(k) != codePoint) {
+                    return false;
+                }
+                k += 2;
+            }
+            pos = (int) (next >>> 32);
+        }
+        return k == length;
+    }
+
+    private boolean keysEqual(int first, int second) {
+        int a = fields[first * STRIDE];
+        int aEnd = fields[first * STRIDE + 1];
+        int b = fields[second * STRIDE];
+        int bEnd = fields[second * STRIDE + 1];
+        while (a < aEnd && b < bEnd) {
+            long nextA = decodeCodePoint(a);
+            long nextB = decodeCodePoint(b);
+            if ((int) nextA != (int) nextB) {
+                return false;
+            }
+            a = (int) (nextA >>> 32);
+            b = (int) (nextB >>> 32);
+        }
+        return a == aEnd && b == bEnd;
+    }
+
+    // --- scanning ---
+
+    /**
+     * Decodes one character of string content at {@code pos}, handling UTF-8 and JSON escapes.
+     * Returns the position after it in the high 32 bits and the code point in the low 32 bits.
+     * A \\u escape of a surrogate half is returned as that single UTF-16 unit.
+     */
+    private long decodeCodePoint(int pos) {
+        int b = json[pos];
+        int codePoint;
+        int length;
+        if (b == '\\') {
+            int escape = json[pos + 1];
+            length = 2;
+            switch (escape) {
+                case 'n':
+                    codePoint = '\n';
+                    break;
+                case 't':
+                    codePoint = '\t';
+                    break;
+                case 'r':
+                    codePoint = '\r';
+                    break;
+                case 'b':
+                    codePoint = '\b';
+                    break;
+                case 'f':
+                    codePoint = '\f';
+                    break;
+                case 'u':
+                    codePoint = Integer.parseInt(new String(json, pos + 2, 4, StandardCharsets.ISO_8859_1), 16);
+                    length = 6;
+                    break;
+                default:
+                    // \" \\ \/
+                    codePoint = escape;
+            }
+        } else if (b >= 0) {
+            codePoint = b;
+            length = 1;
+        } else if ((b & 0xE0) == 0xC0) {
+            codePoint = (b & 0x1F) << 6 | (json[pos + 1] & 0x3F);
+            length = 2;
+        } else if ((b & 0xF0) == 0xE0) {
+            codePoint = (b & 0x0F) << 12 | (json[pos + 1] & 0x3F) << 6 | (json[pos + 2] & 0x3F);
+            length = 3;
+        } else {
+            codePoint = (b & 0x07) << 18 | (json[pos + 1] & 0x3F) << 12 | (json[pos + 2] & 0x3F) << 6 | (json[pos + 3] & 0x3F);
+            length = 4;
+        }
+        return (long) (pos + length) << 32 | codePoint;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < end) {
+            byte b = json[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    // pos is on the opening quote; returns the position of the closing quote
+    private int skipString(int pos) throws IOException {
+        lastStringEscaped = false;
+        for (int i = pos + 1; i < end; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\') {
+                lastStringEscaped = true;
+                i++;
+            }
+        }
+        throw malformed(pos, "unterminated string");
+    }
+
+    private int kindAt(int pos) throws IOException {
+        if (pos >= end) {
+            throw malformed(pos, "expected a value");
+        }
+        switch (json[pos]) {
+            case '"':
+                return Kind.STRING.ordinal();
+            case '{':
+                return Kind.OBJECT.ordinal();
+            case '[':
+                return Kind.ARRAY.ordinal();
+            case 't':
+                return Kind.TRUE.ordinal();
+            case 'f':
+                return Kind.FALSE.ordinal();
+            case 'n':
+                return Kind.NULL.ordinal();
+            default:
+                byte b = json[pos];
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    return Kind.NUMBER.ordinal();
+                }
+                throw malformed(pos, "unexpected character '" + (char) b + "'");
+        }
+    }
+
+    // returns the position just after the value
+    private int skipValue(int pos, int kind) throws IOException {
+        switch (KINDS[kind]) {
+            case STRING:
+                return skipString(pos) + 1;
+            case OBJECT:
+            case ARRAY:
+                return skipContainer(pos);
+            case TRUE:
+                return skipLiteral(pos, "true");
+            case FALSE:
+                return skipLiteral(pos, "false");
+            case NULL:
+                return skipLiteral(pos, "null");
+            default:
+                int i = pos + 1;
+                while (i < end) {
+                    byte b = json[i];
+                    if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                return i;
+        }
+    }
+
+    private int skipContainer(int pos) throws IOException {
+        int depth = 0;
+        for (int i = pos; i < end; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                i = skipString(i);
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (--depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        throw malformed(pos, "unterminated " + (json[pos] == '{' ? "object" : "array"));
+    }
+
+    private int skipLiteral(int pos, String literal) throws IOException {
+        int stop = pos + literal.length();
+        if (stop > end) {
+            throw malformed(pos, "expected " + literal);
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (json[pos + i] != literal.charAt(i)) {
+                throw malformed(pos, "expected " + literal);
+            }
+        }
+        return stop;
+    }
+
+    // accumulates negatively so Long.MIN_VALUE parses without overflow
+    private long parseLong(String key, int start, int stop) {
+        int i = start;
+        boolean negative = json[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == stop) {
+            throw new NumberFormatException("Field '" + key + "' is not a number");
+        }
+        long result = 0;
+        for (; i < stop; i++) {
+            int digit = json[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Field '" + key + "' is not an integer: "
+                        + new String(json, start, stop - start, StandardCharsets.ISO_8859_1));
+            }
+            if (result < Long.MIN_VALUE / 10 || result * 10 < Long.MIN_VALUE + digit) {
+                throw new NumberFormatException("Field '" + key + "' is out of long range");
+            }
+            result = result * 10 - digit;
+        }
+        if (!negative && result == Long.MIN_VALUE) {
+            throw new NumberFormatException("Field '" + key + "' is out of long range");
+        }
+        return negative ? result : -result;
+    }
+
+    private static IOException malformed(int pos, String message) {
+        return new IOException("Malformed JSON object at offset " + pos + ": " + message);
+    }
+}
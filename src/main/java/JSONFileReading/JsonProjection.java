@@ -0,0 +1,371 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads only selected fields out of a JSON document.
+ * <p>
+ * The requested paths are top-level field names or JSON Pointers ({@code /nested/field},
+ * {@code /items/0/id}). They are compiled into a small tree that is walked alongside the
+ * token stream: every field that is not on a requested path is skipped with
+ * {@link JsonParser#skipChildren()}, so unrequested subtrees are tokenized but never
+ * bound, and a standalone document stops being read as soon as every path was found.
+ * <p>
+ * Results are delivered either to a {@link FieldSink} as primitives, keyed by the index of
+ * the path in {@link #of}, or bound into a record with {@link #into(Class)}.
+ * A projection is immutable and thread-safe.
+ */
+public final class JsonProjection {
+    // early exit tracks found paths in a long bit set
+    private static final int MAX_TRACKED = Long.SIZE;
+
+    /**
+     * Receives projected values. Numbers arrive as long or double depending on their JSON form.
+     */
+    public interface FieldSink {
+        default void onLong(int field, long value) {
+        }
+
+        default void onDouble(int field, double value) {
+        }
+
+        default void onString(int field, String value) {
+        }
+
+        default void onBoolean(int field, boolean value) {
+        }
+
+        default void onNull(int field) {
+        }
+
+        /**
+         * An object or array; the parser is on its start token. It may be consumed, e.g. with
+         * {@code parser.readValueAsTree()}, or left alone to have it skipped.
+         */
+        default void onValue(int field, JsonParser parser) throws IOException {
+        }
+    }
+
+    // how a matched value reaches the caller: a FieldSink adapter or a record binder
+    private interface Delivery {
+        void deliver(int field, JsonParser parser, JsonToken token) throws IOException;
+    }
+
+    private static final class Node {
+        Map<String, Node> properties;
+        Node[] elements;
+        int field = -1;
+    }
+
+    private final Node root = new Node();
+    private final String[] paths;
+
+    private JsonProjection(String[] paths) {
+        this.paths = paths.clone();
+        for (int field = 0; field < paths.length; field++) {
+            add(paths[field], field);
+        }
+    }
+
+    /**
+     * Compiles a projection; entries starting with '/' are JSON Pointers, others are top-level field names.
+     */
+    public static JsonProjection of(String... paths) {
+        return new JsonProjection(paths);
+    }
+
+    /**
+     * Projection binding straight into {@code type}: each record component is read from the
+     * field of the same name, or from the name or pointer given by {@code @JsonProperty}.
+     */
+    public static <R extends Record> RecordProjection<R> into(Class<R> type) {
+        return new RecordProjection<>(type);
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public String path(int field) {
+        return paths[field];
+    }
+
+    private void add(String path, int field) {
+        if (path.isEmpty() || path.equals("/")) {
+            throw new IllegalArgumentException("Projection path must name a field: '" + path + "'");
+        }
+        Node node = root;
+        if (path.charAt(0) != '/') {
+            node = property(node, path);
+        } else {
+            for (JsonPointer pointer = JsonPointer.compile(path); !pointer.matches(); pointer = pointer.tail()) {
+                if (node.field >= 0) {
+                    throw new IllegalArgumentException("Path '" + path + "' is inside projected path '" + paths[node.field] + "'");
+                }
+                int index = pointer.getMatchingIndex();
+                node = index >= 0 ? element(node, index) : property(node, pointer.getMatchingProperty());
+            }
+        }
+        if (node.field >= 0 || node.properties != null || node.elements != null) {
+            throw new IllegalArgumentException("Path '" + path + "' overlaps another projected path");
+        }
+        node.field = field;
+    }
+
+    private static Node property(Node parent, String name) {
+        if (parent.properties == null) {
+            parent.properties = new HashMap<>();
+        }
+        return parent.properties.computeIfAbsent(name, n -> new Node());
+    }
+
+    // a numeric pointer segment also matches an object property of that name
+    private static Node element(Node parent, int index) {
+        if (parent.elements == null || parent.elements.length <= index) {
+            parent.elements = parent.elements == null ? new Node[index + 1] : Arrays.copyOf(parent.elements, index + 1);
+        }
+        if (parent.elements[index] == null) {
+            parent.elements[index] = property(parent, Integer.toString(index));
+        }
+        return parent.elements[index];
+    }
+
+    public void read(byte[] json, FieldSink sink) throws IOException {
+        try (JsonParser parser = JsonCodecs.factory().createParser(json)) {
+            walk(parser, adapter(sink), true);
+        }
+    }
+
+    public void read(InputStream json, FieldSink sink) throws IOException {
+        try (JsonParser parser = JsonCodecs.factory().createParser(json)) {
+            walk(parser, adapter(sink), true);
+        }
+    }
+
+    /**
+     * Reads the next value of {@code parser} and leaves it on that value's last token,
+     * so the caller can continue with the next record of an array or NDJSON stream.
+     */
+    public void read(JsonParser parser, FieldSink sink) throws IOException {
+        walk(parser, adapter(sink), false);
+    }
+
+    private static Delivery adapter(FieldSink sink) {
+        return (field, parser, token) -> {
+            switch (token) {
+                case VALUE_NUMBER_INT:
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        sink.onDouble(field, parser.getDoubleValue());
+                    } else {
+                        sink.onLong(field, parser.getLongValue());
+                    }
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    sink.onDouble(field, parser.getDoubleValue());
+                    break;
+                case VALUE_STRING:
+                    sink.onString(field, parser.getText());
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    sink.onBoolean(field, token == JsonToken.VALUE_TRUE);
+                    break;
+                case VALUE_NULL:
+                    sink.onNull(field);
+                    break;
+                default:
+                    sink.onValue(field, parser);
+            }
+        };
+    }
+
+    private void walk(JsonParser parser, Delivery delivery, boolean stopWhenDone) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token.isStructEnd() || token == JsonToken.FIELD_NAME) {
+            token = parser.nextToken();
+        }
+        long pending = paths.length >= MAX_TRACKED ? -1L : (1L << paths.length) - 1;
+        boolean exitEarly = stopWhenDone && paths.length < MAX_TRACKED;
+        if (token == JsonToken.START_OBJECT) {
+            walkObject(parser, root, delivery, pending, exitEarly);
+        } else if (token == JsonToken.START_ARRAY) {
+            walkArray(parser, root, delivery, pending, exitEarly);
+        } else {
+            throw new IOException("Expected a JSON object or array but found " + token);
+        }
+    }
+
+    // Parser is on START_OBJECT; returns the paths still pending, 0 means it stopped early
+    private long walkObject(JsonParser parser, Node node, Delivery delivery, long pending, boolean exitEarly) throws IOException {
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            Node child = node.properties == null ? null : node.properties.get(name);
+            if (child == null) {
+                parser.skipChildren();
+                continue;
+            }
+            pending = visit(parser, token, child, delivery, pending, exitEarly);
+            if (exitEarly && pending == 0) {
+                return 0;
+            }
+        }
+        return pending;
+    }
+
+    private long walkArray(JsonParser parser, Node node, Delivery delivery, long pending, boolean exitEarly) throws IOException {
+        JsonToken token;
+        for (int index = 0; (token = parser.nextToken()) != JsonToken.END_ARRAY; index++) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside an array");
+            }
+            Node child = node.elements != null && index < node.elements.length ? node.elements[index] : null;
+            if (child == null) {
+                parser.skipChildren();
+                continue;
+            }
+            pending = visit(parser, token, child, delivery, pending, exitEarly);
+            if (exitEarly && pending == 0) {
+                return 0;
+            }
+        }
+        return pending;
+    }
+
+    private long visit(JsonParser parser, JsonToken token, Node node, Delivery delivery, long pending, boolean exitEarly) throws IOException {
+        if (node.field >= 0) {
+            delivery.deliver(node.field, parser, token);
+            if (parser.currentToken() == token && token.isStructStart()) {
+                parser.skipChildren();
+            }
+            return node.field < MAX_TRACKED ? pending & ~(1L << node.field) : pending;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            return walkObject(parser, node, delivery, pending, exitEarly);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            return walkArray(parser, node, delivery, pending, exitEarly);
+        }
+        // a scalar where the path expects a container: nothing below it can match
+        return pending;
+    }
+
+    /**
+     * A projection bound to a record type. Components whose field is missing keep their
+     * default value (0, false or null).
+     */
+    public static final class RecordProjection<R extends Record> {
+        private final JsonProjection projection;
+        private final Class<?>[] types;
+        private final ObjectReader[] readers;
+        private final Object[] defaults;
+        private final MethodHandle constructor;
+
+        private RecordProjection(Class<R> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            String[] paths = new String[components.length];
+            types = new Class<?>[components.length];
+            readers = new ObjectReader[components.length];
+            defaults = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                RecordComponent component = components[i];
+                JsonProperty property = component.getAccessor().getAnnotation(JsonProperty.class);
+                paths[i] = property != null && !property.value().isEmpty() ? property.value() : component.getName();
+                types[i] = component.getType();
+                readers[i] = JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, component.getGenericType());
+                defaults[i] = defaultValue(types[i]);
+            }
+            projection = new JsonProjection(paths);
+            try {
+                Constructor<R> canonical = type.getDeclaredConstructor(types);
+                canonical.setAccessible(true);
+                constructor = MethodHandles.lookup().unreflectConstructor(canonical)
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot access the canonical constructor of " + type.getName(), e);
+            }
+        }
+
+        public R read(byte[] json) throws IOException {
+            try (JsonParser parser = JsonCodecs.factory().createParser(json)) {
+                return read(parser, true);
+            }
+        }
+
+        public R read(InputStream json) throws IOException {
+            try (JsonParser parser = JsonCodecs.factory().createParser(json)) {
+                return read(parser, true);
+            }
+        }
+
+        /**
+         * Binds the next value of {@code parser}; see {@link JsonProjection#read(JsonParser, FieldSink)}.
+         */
+        public R read(JsonParser parser) throws IOException {
+            return read(parser, false);
+        }
+
+        @SuppressWarnings("unchecked")
+        private R read(JsonParser parser, boolean stopWhenDone) throws IOException {
+            Object[] values = defaults.clone();
+            projection.walk(parser, (field, p, token) -> values[field] = convert(field, p, token), stopWhenDone);
+            Object record;
+            try {
+                record = constructor.invokeExact(values);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return (R) record;
+        }
+
+        // numbers go straight to primitive components, anything else goes through Jackson
+        private Object convert(int field, JsonParser parser, JsonToken token) throws IOException {
+            Class<?> type = types[field];
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                if (type == int.class || type == Integer.class) {
+                    return parser.getIntValue();
+                }
+                if (type == long.class || type == Long.class) {
+                    return parser.getLongValue();
+                }
+            } else if (token == JsonToken.VALUE_STRING && type == String.class) {
+                return parser.getText();
+            } else if (token == JsonToken.VALUE_NULL) {
+                return defaults[field];
+            }
+            return readers[field].readValue(parser);
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return null;
+            }
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == char.class) {
+                return '\0';
+            }
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams records of one type out of a JSON document without materializing it.
+ * The input may be a top-level array of records, a single record, or a sequence
+ * of root-level records (newline-delimited JSON). Only the record currently being
+ * bound is held in memory, so memory stays constant regardless of input size.
+ */
+public class JsonRecordReader<T> implements Iterator<T>, Closeable {
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final boolean inArray;
+    private JsonToken next;
+
+    public JsonRecordReader(InputStream inputStream, Class<T> type) throws IOException {
+        this(inputStream, JsonCodecs.reader(type));
+    }
+
+    public JsonRecordReader(InputStream inputStream, ObjectReader reader) throws IOException {
+        this(JsonCodecs.factory().createParser(inputStream), reader);
+    }
+
+    public JsonRecordReader(JsonParser parser, ObjectReader reader) throws IOException {
+        this.parser = parser;
+        this.reader = reader;
+        this.next = parser.nextToken();
+        this.inArray = next == JsonToken.START_ARRAY;
+        if (inArray) {
+            next = parser.nextToken();
+        }
+    }
+
+    public static JsonRecordReader<EntityModel> forEntityModels(InputStream inputStream) throws IOException {
+        return new JsonRecordReader<>(inputStream, EntityModel.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null && next != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T record = reader.readValue(parser);
+            next = parser.nextToken();
+            if (next == JsonToken.END_ARRAY && inArray) {
+                // trailing content after the array is not part of the record stream
+                next = null;
+            }
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Groups the remaining records into lists of at most {@code batchSize} elements.
+     */
+    public Iterator<List<T>> batches(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return JsonRecordReader.this.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && JsonRecordReader.this.hasNext()) {
+                    batch.add(JsonRecordReader.this.next());
+                }
+                return batch;
+            }
+        };
+    }
+
+    /**
+     * Sequential stream over the remaining records; closing the stream closes the parser.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,272 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes many records to one file through a single JsonGenerator.
+ * <p>
+ * {@link Format#JSON_LINES} appends one record per line to the target.
+ * {@link Format#JSON_ARRAY} produces a whole-file array: it is written to a temporary
+ * file and renamed over the target on {@link #close()}, so readers never observe a
+ * partial document. Output is staged in a direct buffer and pushed to the file according
+ * to the {@link FlushPolicy}; the delay limit is also checked by a shared background timer,
+ * so records written just before the writer goes idle still reach the file in time. All
+ * methods are synchronized, so one writer can be shared between threads.
+ * <p>
+ * Writers are created with {@link #open} and must be closed, preferably with try-with-resources.
+ * The timer only holds a writer weakly, so an unclosed writer that is dropped stops being
+ * flushed once it is collected, but records still buffered in it are lost.
+ */
+public class JsonRecordWriter<T> implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    public enum Format {
+        JSON_LINES, JSON_ARRAY
+    }
+
+    private final Path target;
+    private final Path temp;
+    private final Format format;
+    private final FlushPolicy policy;
+    private final FileChannel channel;
+    private final ChannelOutputStream out;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private ScheduledFuture<?> timer;
+    private int pendingRecords;
+    private long lastFlushNanos;
+    private boolean committed;
+    // a failed background flush, reported by the next call
+    private IOException flushError;
+
+    public static <T> JsonRecordWriter<T> open(Path target, Class<T> type, Format format) throws IOException {
+        return open(target, type, format, FlushPolicy.defaults());
+    }
+
+    public static <T> JsonRecordWriter<T> open(Path target, Class<T> type, Format format, FlushPolicy policy)
+            throws IOException {
+        JsonRecordWriter<T> writer = new JsonRecordWriter<>(target, type, format, policy);
+        writer.startTimer();
+        return writer;
+    }
+
+    private JsonRecordWriter(Path target, Class<T> type, Format format, FlushPolicy policy) throws IOException {
+        this.target = target;
+        this.format = format;
+        this.policy = policy;
+        if (format == Format.JSON_ARRAY) {
+            this.temp = AtomicFiles.createTempSibling(target);
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            this.temp = null;
+            this.channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        this.out = new ChannelOutputStream(channel, BUFFER_SIZE);
+        this.generator = JsonCodecs.factory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.writer = JsonCodecs.writer(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (format == Format.JSON_ARRAY) {
+            generator.writeStartArray();
+        }
+        this.lastFlushNanos = System.nanoTime();
+    }
+
+    // Scheduled once the writer is fully constructed, so the timer thread never sees a partial one
+    private synchronized void startTimer() {
+        Duration delay = policy.getMaxDelay();
+        if (!delay.isZero() && !delay.isNegative()) {
+            timer = Flusher.schedule(this, delay);
+        }
+    }
+
+    public synchronized void write(T record) throws IOException {
+        checkFlushError();
+        writer.writeValue(generator, record);
+        if (format == Format.JSON_LINES) {
+            generator.writeRaw('\n');
+        }
+        pendingRecords++;
+        if (shouldFlush()) {
+            flush();
+        }
+    }
+
+    private boolean shouldFlush() {
+        return pendingRecords >= policy.getMaxRecords()
+                || out.buffered() + generator.getOutputBuffered() >= policy.getMaxBytes()
+                || System.nanoTime() - lastFlushNanos >= policy.getMaxDelay().toNanos();
+    }
+
+    // Runs on the timer thread; idle writers get their last records out within maxDelay
+    private synchronized void flushIfDue() {
+        if (committed || flushError != null || pendingRecords == 0
+                || System.nanoTime() - lastFlushNanos < policy.getMaxDelay().toNanos()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            flushError = e;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+    }
+
+    private void checkFlushError() throws IOException {
+        if (flushError != null) {
+            throw new IOException("Background flush of " + target + " failed", flushError);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        checkFlushError();
+        generator.flush();
+        if (policy.isSync()) {
+            channel.force(false);
+        }
+        pendingRecords = 0;
+        lastFlushNanos = System.nanoTime();
+    }
+
+    /**
+     * Finishes the output; for {@link Format#JSON_ARRAY} this is when the target is replaced.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (committed) {
+            return;
+        }
+        committed = true;
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        boolean complete = false;
+        try {
+            checkFlushError();
+            if (format == Format.JSON_ARRAY) {
+                generator.writeEndArray();
+            }
+            generator.close();
+            channel.force(format == Format.JSON_ARRAY || policy.isSync());
+            complete = true;
+        } finally {
+            channel.close();
+            if (temp != null) {
+                try {
+                    if (complete) {
+                        AtomicFiles.commit(temp, target);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+    }
+
+    // One daemon thread for the delay checks of all writers, started with the first one that needs it
+    private static final class Flusher implements Runnable {
+        static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "json-record-writer-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // weak, so the scheduler does not keep an unclosed writer (and its channel) alive
+        private final WeakReference<JsonRecordWriter<?>> writer;
+        private volatile ScheduledFuture<?> future;
+
+        private Flusher(JsonRecordWriter<?> writer) {
+            this.writer = new WeakReference<>(writer);
+        }
+
+        static ScheduledFuture<?> schedule(JsonRecordWriter<?> writer, Duration delay) {
+            Flusher flusher = new Flusher(writer);
+            flusher.future = SCHEDULER.scheduleWithFixedDelay(flusher, delay.toNanos(), delay.toNanos(), TimeUnit.NANOSECONDS);
+            return flusher.future;
+        }
+
+        @Override
+        public void run() {
+            JsonRecordWriter<?> current = writer.get();
+            if (current != null) {
+                current.flushIfDue();
+            } else if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    // Stages bytes in a direct buffer so they reach the channel without an extra heap copy
+    private static final class ChannelOutputStream extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        private ChannelOutputStream(FileChannel channel, int capacity) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        private int buffered() {
+            return buffer.position();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Memory-mapped file input for the JSON readers.
+ * The file is mapped read-only, so reading it takes page faults on the page cache instead of
+ * one read() system call and kernel-to-user copy per buffer, as FileInputStream does. Jackson
+ * has no ByteBuffer input, so it still copies the mapped bytes into its own input buffer in
+ * chunks; the saving is the system calls and the FileInputStream buffering, not that copy.
+ * Files larger than 2 GB are mapped in consecutive regions.
+ */
+public final class MappedFiles {
+    private static final long MAX_REGION = Integer.MAX_VALUE;
+
+    private MappedFiles() {
+    }
+
+    /**
+     * Maps {@code path} and returns a stream over its bytes. The mapping stays valid after the
+     * file channel is closed and is released when the buffers are garbage collected.
+     */
+    public static InputStream open(Path path) throws IOException {
+        List<MappedByteBuffer> regions = map(path);
+        if (regions.size() == 1) {
+            return new ByteBufferBackedInputStream(regions.get(0));
+        }
+        List<InputStream> streams = new ArrayList<>(regions.size());
+        for (MappedByteBuffer region : regions) {
+            streams.add(new ByteBufferBackedInputStream(region));
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    public static List<MappedByteBuffer> map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<MappedByteBuffer> regions = new ArrayList<>((int) (size / MAX_REGION) + 1);
+            long position = 0;
+            do {
+                long length = Math.min(MAX_REGION, size - position);
+                regions.add(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                position += length;
+            } while (position < size);
+            return regions;
+        }
+    }
+
+    public static <T> T read(Path path, Class<T> type) throws IOException {
+        return read(path, type, JsonCodecs.Profile.DEFAULT);
+    }
+
+    public static <T> T read(Path path, Class<T> type, JsonCodecs.Profile profile) throws IOException {
+        try (InputStream inputStream = open(path)) {
+            return JsonCodecs.reader(profile, type).readValue(inputStream);
+        }
+    }
+}
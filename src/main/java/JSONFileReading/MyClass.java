@@ -1,7 +1,14 @@
 package JSONFileReading;
 
+import codegen.GeneratedCodec;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@GeneratedCodec
 public class MyClass {
+    @NotBlank
     private String name;
+    @PositiveOrZero
     private int value;
     // No-argument constructor
     public MyClass() {
@@ -0,0 +1,237 @@
+package JSONFileReading;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import Instrumentation.CodecMetrics;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parallel stream over a newline-delimited JSON file, one record per line.
+ * <p>
+ * The file is split into byte ranges that start right after a newline, so every range holds
+ * whole lines and can be parsed on its own. The stream's fork/join tasks (the common pool, or
+ * the pool the terminal operation is submitted to) each map their range in windows of at most
+ * {@value #WINDOW} bytes and bind it with Jackson. An ordered stream keeps file order in
+ * {@code forEachOrdered} and {@code collect}; an unordered one lets the workers hand records on
+ * as soon as they are bound. Closing the stream closes the file.
+ * <pre>
+ * try (Stream&lt;Model&gt; models = ParallelNdjsonReader.models(path)) {
+ *     Map&lt;String, Long&gt; perFruit = models.collect(groupingByConcurrent(Model::getFruitName, counting()));
+ * }
+ * </pre>
+ */
+public final class ParallelNdjsonReader {
+    static final int WINDOW = 64 << 20;
+    // ranges under twice this size are not split, so each half is about this size or more;
+    // smaller tasks would cost more to schedule than to read
+    private static final long MIN_SPLIT = 1 << 20;
+    private static final int SAMPLE = 64 << 10;
+    private static final String OPERATION = "json.ndjson";
+
+    private ParallelNdjsonReader() {
+    }
+
+    public static Stream<Model> models(Path file) throws IOException {
+        return stream(file, Model.class, true);
+    }
+
+    public static Stream<EntityModel> entityModels(Path file) throws IOException {
+        return stream(file, EntityModel.class, true);
+    }
+
+    public static <T> Stream<T> stream(Path file, Class<T> type) throws IOException {
+        return stream(file, type, true);
+    }
+
+    /**
+     * Parallel stream of the records of {@code file}, bound with the IGNORE_UNKNOWN profile.
+     *
+     * @param ordered whether the stream reports records in file order
+     */
+    public static <T> Stream<T> stream(Path file, Class<T> type, boolean ordered) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ObjectReader reader = JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type);
+            RangeSpliterator<T> spliterator = new RangeSpliterator<>(channel, reader, type, 0, size,
+                    bytesPerLine(channel, size), ordered);
+            return StreamSupport.stream(spliterator, true).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // average line length of the head of the file, for the size estimates of the spliterators
+    private static long bytesPerLine(FileChannel channel, long size) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(SAMPLE, size));
+        while (sample.hasRemaining() && channel.read(sample, sample.position()) > 0) {
+            // positional reads until the sample is full
+        }
+        int lines = 0;
+        for (int i = 0; i < sample.position(); i++) {
+            if (sample.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return Math.max(1, sample.position() / Math.max(1, lines));
+    }
+
+    /**
+     * The lines in [start, end) of the file; start is 0 or just after a newline.
+     */
+    private static final class RangeSpliterator<T> implements Spliterator<T> {
+        private final FileChannel channel;
+        private final ObjectReader reader;
+        private final Class<T> type;
+        private final long end;
+        private final long bytesPerLine;
+        private final boolean ordered;
+
+        private long start;
+        // the window being read; null until traversal starts and between windows
+        private JsonRecordReader<T> window;
+
+        RangeSpliterator(FileChannel channel, ObjectReader reader, Class<T> type, long start, long end,
+                         long bytesPerLine, boolean ordered) {
+            this.channel = channel;
+            this.reader = reader;
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.bytesPerLine = bytesPerLine;
+            this.ordered = ordered;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                while (window == null || !window.hasNext()) {
+                    if (start >= end) {
+                        return false;
+                    }
+                    window = nextWindow();
+                }
+                action.accept(window.next());
+                // one at a time: a short-circuiting stream may never come back for the rest of the window
+                CodecMetrics.records(OPERATION, type, 1);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            try {
+                do {
+                    if (window != null) {
+                        long records = 0;
+                        while (window.hasNext()) {
+                            action.accept(window.next());
+                            records++;
+                        }
+                        CodecMetrics.records(OPERATION, type, records);
+                    }
+                    window = start < end ? nextWindow() : null;
+                } while (window != null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Maps the next run of whole lines, at most WINDOW bytes unless a single line is longer
+        private JsonRecordReader<T> nextWindow() throws IOException {
+            long length = Math.min(WINDOW, end - start);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            int lines = (int) length;
+            if (start + length < end) {
+                lines = lastNewline(region) + 1;
+                if (lines == 0) {
+                    long lineEnd = newlineAtOrAfter(start + length);
+                    lines = (int) Math.min(Integer.MAX_VALUE, lineEnd - start);
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, start, lines);
+                }
+            }
+            ByteBuffer bytes = region.limit(lines);
+            CodecMetrics.bytes(OPERATION, type, lines);
+            start += lines;
+            return new JsonRecordReader<>(new ByteBufferBackedInputStream(bytes), reader);
+        }
+
+        private static int lastNewline(ByteBuffer region) {
+            for (int i = region.limit() - 1; i >= 0; i--) {
+                if (region.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Position just after the first newline at or after 'position', or end
+        private long newlineAtOrAfter(long position) throws IOException {
+            ByteBuffer chunk = ByteBuffer.allocate(8192);
+            while (position < end) {
+                chunk.clear();
+                int read = channel.read(chunk, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (chunk.get(i) == '\n') {
+                        return Math.min(end, position + i + 1);
+                    }
+                }
+                position += read;
+            }
+            return end;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (window != null || end - start < 2 * MIN_SPLIT) {
+                return null;
+            }
+            try {
+                long middle = newlineAtOrAfter(start + (end - start) / 2);
+                if (middle >= end) {
+                    return null;
+                }
+                RangeSpliterator<T> prefix = new RangeSpliterator<>(channel, reader, type, start, middle,
+                        bytesPerLine, ordered);
+                start = middle;
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return (end - start) / bytesPerLine;
+        }
+
+        @Override
+        public int characteristics() {
+            return IMMUTABLE | (ordered ? ORDERED : 0);
+        }
+    }
+}
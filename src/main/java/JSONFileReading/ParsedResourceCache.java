@@ -0,0 +1,219 @@
+package JSONFileReading;
+
+import Instrumentation.CodecMetrics;
+import cloning.DeepCopier;
+import lombok.Value;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache of parsed JSON resources and files, keyed by location, target type and profile.
+ * <p>
+ * Every lookup re-checks the source (modification time and size, or a content hash) and
+ * re-parses only when it changed, so repeated reads of config-style files cost a stat call
+ * instead of a parse. Entries are evicted least-recently-used once the entry count or the
+ * total weight (source size in bytes) exceeds its bound. With copy-on-read enabled, callers
+ * get a deep copy and can never corrupt the cached instance.
+ */
+public class ParsedResourceCache {
+
+    /**
+     * Shared cache used by JSONFileReading.getFile and createDTOAndReadJsonFile.readModel.
+     */
+    public static final ParsedResourceCache DEFAULT =
+            new ParsedResourceCache(1024, 64L * 1024 * 1024, Invalidation.MODIFICATION_TIME, true);
+
+    public enum Invalidation {
+        /** Last-modified time and size; cheap, but misses same-size rewrites within the clock resolution. */
+        MODIFICATION_TIME,
+        /** CRC32C of the content; reads the bytes on every lookup but never misses a change. */
+        CONTENT_HASH
+    }
+
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long reloads;
+        long evictions;
+        int entries;
+        long weight;
+    }
+
+    @Value
+    private static class Key {
+        String location;
+        Class<?> type;
+        JsonCodecs.Profile profile;
+    }
+
+    /**
+     * {@code stamp} is the modification time (or the content hash) and {@code length} the size
+     * the value was parsed from; both must match for a hit.
+     */
+    @Value
+    private static class Entry {
+        Object value;
+        long stamp;
+        long length;
+        long weight;
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Invalidation invalidation;
+    private final boolean copyOnRead;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ParsedResourceCache(int maxEntries, long maxWeight, Invalidation invalidation, boolean copyOnRead) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.invalidation = invalidation;
+        this.copyOnRead = copyOnRead;
+    }
+
+    /**
+     * Reads a classpath resource, resolved the same way as {@code type.getResourceAsStream(resource)}.
+     */
+    public <T> T get(String resource, Class<T> type, JsonCodecs.Profile profile) throws IOException {
+        URL url = type.getResource(resource);
+        if (url == null) {
+            throw new FileNotFoundException("Resource not found: " + resource);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return get(Path.of(url.toURI()), type, profile);
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        return get(new Key(url.toExternalForm(), type, profile), url);
+    }
+
+    public <T> T get(Path file, Class<T> type, JsonCodecs.Profile profile) throws IOException {
+        return get(new Key(file.toAbsolutePath().toString(), type, profile), file);
+    }
+
+    // source is either a Path or a URL
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Object source) throws IOException {
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        byte[] content = null;
+        long stamp;
+        long length;
+        if (invalidation == Invalidation.CONTENT_HASH) {
+            content = readAllBytes(source);
+            CRC32C crc = new CRC32C();
+            crc.update(content);
+            stamp = crc.getValue();
+            length = content.length;
+        } else if (source instanceof Path) {
+            BasicFileAttributes attributes = Files.readAttributes((Path) source, BasicFileAttributes.class);
+            stamp = attributes.lastModifiedTime().toMillis();
+            length = attributes.size();
+        } else {
+            URLConnection connection = ((URL) source).openConnection();
+            connection.setUseCaches(false);
+            // An uncached jar: (or Spring Boot nested:) connection opens the jar file, and closing its
+            // stream closes it again. Its header fields would open another, never closed, stream on
+            // the jar, so the entry's own time and size are used instead.
+            try (InputStream inputStream = connection.getInputStream()) {
+                if (connection instanceof JarURLConnection) {
+                    JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                    stamp = entry.getTime();
+                    length = entry.getSize();
+                } else {
+                    stamp = connection.getLastModified();
+                    length = connection.getContentLengthLong();
+                }
+                if (!matches(cached, stamp, length)) {
+                    content = inputStream.readAllBytes();
+                }
+            }
+        }
+
+        if (matches(cached, stamp, length)) {
+            hits.increment();
+            return (T) (copyOnRead ? DeepCopier.deepCopy(cached.getValue()) : cached.getValue());
+        }
+        if (cached == null) {
+            misses.increment();
+        } else {
+            reloads.increment();
+        }
+
+        if (content == null) {
+            content = readAllBytes(source);
+        }
+        Object value = JsonCodecs.reader(key.getProfile(), key.getType()).readValue(content);
+        CodecMetrics.bytes("json.parse", key.getType(), content.length);
+        put(key, new Entry(value, stamp, length, content.length));
+        return (T) (copyOnRead ? DeepCopier.deepCopy(value) : value);
+    }
+
+    private static boolean matches(Entry cached, long stamp, long length) {
+        return cached != null && cached.getStamp() == stamp && cached.getLength() == length;
+    }
+
+    private static byte[] readAllBytes(Object source) throws IOException {
+        if (source instanceof Path) {
+            return Files.readAllBytes((Path) source);
+        }
+        try (InputStream inputStream = ((URL) source).openStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        if (entry.getWeight() > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            weight -= previous.getWeight();
+        }
+        weight += entry.getWeight();
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<Key, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(key)) {
+                continue;
+            }
+            weight -= candidate.getValue().getWeight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), reloads.sum(), evictions.sum(), entries.size(), weight);
+    }
+}
@@ -0,0 +1,219 @@
+package JSONFileReading;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Negative;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Bean Validation for one record type, resolved once and shared.
+ * <p>
+ * The validator factory is built on first use and its Validator is thread-safe. When every
+ * constraint of the type is one of the common built-in ones ({@code @NotNull}, {@code @NotBlank},
+ * {@code @NotEmpty}, {@code @Size}, {@code @Min}, {@code @Max}, {@code @Positive} and friends) on
+ * a field, in the default group, the constraints are also compiled into plain checks on the field
+ * values. Valid records then pass those checks without the per-call context Hibernate Validator
+ * builds, and only failing records go through the full validator for the violation details.
+ * Types with other constraints are always validated by the provider.
+ */
+public final class RecordValidator<T> {
+    private static final Map<Class<?>, RecordValidator<?>> VALIDATORS = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final boolean constrained;
+    // null when the constraints could not all be compiled
+    private final FieldCheck[] checks;
+
+    private RecordValidator(Class<T> type) {
+        this.type = type;
+        BeanDescriptor bean = Holder.VALIDATOR.getConstraintsForClass(type);
+        this.constrained = bean.isBeanConstrained();
+        this.checks = constrained ? compile(type, bean) : new FieldCheck[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RecordValidator<T> forType(Class<T> type) {
+        return (RecordValidator<T>) VALIDATORS.computeIfAbsent(type, RecordValidator::new);
+    }
+
+    public static Validator validator() {
+        return Holder.VALIDATOR;
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public boolean isConstrained() {
+        return constrained;
+    }
+
+    /**
+     * The violated constraints of {@code record}; empty when it is valid.
+     */
+    public Set<ConstraintViolation<T>> validate(T record) {
+        if (!constrained || (checks != null && passes(record))) {
+            return Collections.emptySet();
+        }
+        return Holder.VALIDATOR.validate(record);
+    }
+
+    public boolean isValid(T record) {
+        return validate(record).isEmpty();
+    }
+
+    private boolean passes(T record) {
+        try {
+            for (FieldCheck check : checks) {
+                if (!check.test.test(check.getter.invokeExact((Object) record))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Throwable e) {
+            // let the provider report whatever went wrong reading the field
+            return false;
+        }
+    }
+
+    private static FieldCheck[] compile(Class<?> type, BeanDescriptor bean) {
+        if (!bean.getConstraintDescriptors().isEmpty()) {
+            return null;
+        }
+        List<FieldCheck> checks = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return null;
+            }
+            Field field = field(type, property.getPropertyName());
+            if (field == null) {
+                return null;
+            }
+            for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+                Annotation annotation = constraint.getAnnotation();
+                Predicate<Object> test = test(annotation, field.getType());
+                if (test == null || !field.isAnnotationPresent(annotation.annotationType())
+                        || !constraint.getGroups().equals(Set.of(Default.class))
+                        || !constraint.getComposingConstraints().isEmpty()) {
+                    return null;
+                }
+                try {
+                    field.setAccessible(true);
+                    MethodHandle getter = MethodHandles.lookup().unreflectGetter(field)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    checks.add(new FieldCheck(getter, test));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    return null;
+                }
+            }
+        }
+        return checks.toArray(new FieldCheck[0]);
+    }
+
+    private static Field field(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    // Same semantics as the Hibernate Validator implementations; null for anything not covered
+    private static Predicate<Object> test(Annotation annotation, Class<?> valueType) {
+        boolean integral = valueType == int.class || valueType == long.class || valueType == short.class
+                || valueType == byte.class || valueType == Integer.class || valueType == Long.class
+                || valueType == Short.class || valueType == Byte.class;
+        boolean text = CharSequence.class.isAssignableFrom(valueType);
+        if (annotation instanceof NotNull) {
+            return value -> value != null;
+        }
+        if (annotation instanceof NotBlank && text) {
+            return value -> value != null && !value.toString().trim().isEmpty();
+        }
+        if (annotation instanceof NotEmpty && text) {
+            return value -> value != null && ((CharSequence) value).length() > 0;
+        }
+        if (annotation instanceof NotEmpty && Collection.class.isAssignableFrom(valueType)) {
+            return value -> value != null && !((Collection<?>) value).isEmpty();
+        }
+        if (annotation instanceof Size && text) {
+            Size size = (Size) annotation;
+            return value -> value == null || (((CharSequence) value).length() >= size.min() && ((CharSequence) value).length() <= size.max());
+        }
+        if (annotation instanceof Size && Collection.class.isAssignableFrom(valueType)) {
+            Size size = (Size) annotation;
+            return value -> value == null || (((Collection<?>) value).size() >= size.min() && ((Collection<?>) value).size() <= size.max());
+        }
+        if (!integral) {
+            return null;
+        }
+        if (annotation instanceof Positive) {
+            return value -> value == null || ((Number) value).longValue() > 0;
+        }
+        if (annotation instanceof PositiveOrZero) {
+            return value -> value == null || ((Number) value).longValue() >= 0;
+        }
+        if (annotation instanceof Negative) {
+            return value -> value == null || ((Number) value).longValue() < 0;
+        }
+        if (annotation instanceof NegativeOrZero) {
+            return value -> value == null || ((Number) value).longValue() <= 0;
+        }
+        if (annotation instanceof Min) {
+            long min = ((Min) annotation).value();
+            return value -> value == null || ((Number) value).longValue() >= min;
+        }
+        if (annotation instanceof Max) {
+            long max = ((Max) annotation).value();
+            return value -> value == null || ((Number) value).longValue() <= max;
+        }
+        return null;
+    }
+
+    private static final class FieldCheck {
+        final MethodHandle getter;
+        final Predicate<Object> test;
+
+        FieldCheck(MethodHandle getter, Predicate<Object> test) {
+            this.getter = getter;
+            this.test = test;
+        }
+    }
+
+    // built lazily so readers that never validate don't pay for bootstrapping the provider
+    private static final class Holder {
+        private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+        private static final Validator VALIDATOR = FACTORY.getValidator();
+    }
+}
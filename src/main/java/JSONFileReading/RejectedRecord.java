@@ -0,0 +1,27 @@
+package JSONFileReading;
+
+import jakarta.validation.ConstraintViolation;
+import lombok.Value;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A record that was bound but failed validation, with its position in the input.
+ */
+@Value
+public class RejectedRecord<T> {
+    long index;
+    T record;
+    Set<ConstraintViolation<T>> violations;
+
+    /**
+     * The violations as "property: message" pairs, sorted by property.
+     */
+    public String message() {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,161 @@
+package JSONFileReading;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Stage one of the structural reader: turns 64-byte blocks of JSON into a bit mask of the
+ * positions of structural characters, in the style of simdjson.
+ * <p>
+ * A subclass classifies the raw bytes of a block into quote, backslash and operator
+ * ({@code { } [ ] : ,}) masks; this class then removes escaped quotes, computes which bytes
+ * are inside strings with a prefix XOR, and carries both states into the next block.
+ * The resulting mask has a bit for every unescaped quote and every operator outside a string.
+ * <p>
+ * {@link #create()} returns the portable SWAR implementation unless the Vector API one is
+ * built (the {@code vector} Maven profile), requested with {@code -Djson.structural.vector=true}
+ * and the {@code jdk.incubator.vector} module is in the boot layer
+ * ({@code --add-modules jdk.incubator.vector}). On JDK 17 the
+ * incubator's mask-to-long conversion is not compiled to a single instruction and the
+ * vector version is slower than SWAR, see StructuralReadingBenchmark.
+ * Not thread-safe: each reader owns one indexer.
+ */
+abstract class StructuralIndexer {
+    static final int BLOCK = 64;
+    static final String VECTOR_PROPERTY = "json.structural.vector";
+
+    private static final long ODD_BITS = 0xAAAAAAAAAAAAAAAAL;
+
+    // set by classify for the current block
+    long quotes;
+    long backslashes;
+    long operators;
+
+    private long nextIsEscaped;
+    private long prevInString;
+    private boolean backslashSeen;
+
+    static StructuralIndexer create() {
+        if (vectorAvailable()) {
+            try {
+                return (StructuralIndexer) Class.forName("JSONFileReading.VectorStructuralIndexer")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the portable implementation
+            }
+        }
+        return new Swar();
+    }
+
+    static boolean vectorAvailable() {
+        return Boolean.getBoolean(VECTOR_PROPERTY)
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    abstract String name();
+
+    /**
+     * Sets {@link #quotes}, {@link #backslashes} and {@link #operators} for the 64 bytes at {@code offset}.
+     */
+    abstract void classify(byte[] buf, int offset);
+
+    /**
+     * Clears the carried state; only valid at a position outside any string.
+     */
+    final void reset() {
+        nextIsEscaped = 0;
+        prevInString = 0;
+        backslashSeen = false;
+    }
+
+    /**
+     * Whether any block since the last reset contained a backslash, i.e. strings may need unescaping.
+     */
+    final boolean backslashSeen() {
+        return backslashSeen;
+    }
+
+    final long structurals(byte[] buf, int offset) {
+        classify(buf, offset);
+        long escaped;
+        long backslash = backslashes;
+        if (backslash == 0) {
+            escaped = nextIsEscaped;
+            nextIsEscaped = 0;
+        } else {
+            backslashSeen = true;
+            // odd-length backslash runs escape the byte after them, see simdjson's json_escape_scanner
+            long potentialEscape = backslash & ~nextIsEscaped;
+            long maybeEscaped = potentialEscape << 1;
+            long escapeAndTerminalCode = ((maybeEscaped | ODD_BITS) - potentialEscape) ^ ODD_BITS;
+            escaped = escapeAndTerminalCode ^ (backslash | nextIsEscaped);
+            nextIsEscaped = (escapeAndTerminalCode & backslash) >>> 63;
+        }
+        long quote = quotes & ~escaped;
+        long inString = prefixXor(quote) ^ prevInString;
+        prevInString = inString >> 63;
+        return (operators & ~inString) | quote;
+    }
+
+    // bit i of the result is the XOR of bits 0..i of x
+    private static long prefixXor(long x) {
+        x ^= x << 1;
+        x ^= x << 2;
+        x ^= x << 4;
+        x ^= x << 8;
+        x ^= x << 16;
+        x ^= x << 32;
+        return x;
+    }
+
+    /**
+     * Portable implementation comparing eight bytes at a time inside a long.
+     */
+    static final class Swar extends StructuralIndexer {
+        private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+        private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+        private static final long QUOTE = 0x2222222222222222L;
+        private static final long BACKSLASH = 0x5C5C5C5C5C5C5C5CL;
+        private static final long LOWER = 0x2020202020202020L;
+        private static final long OPEN = 0x7B7B7B7B7B7B7B7BL;
+        private static final long CLOSE = 0x7D7D7D7D7D7D7D7DL;
+        private static final long COLON = 0x3A3A3A3A3A3A3A3AL;
+        private static final long COMMA = 0x2C2C2C2C2C2C2C2CL;
+
+        @Override
+        String name() {
+            return "swar";
+        }
+
+        @Override
+        void classify(byte[] buf, int offset) {
+            long quote = 0;
+            long backslash = 0;
+            long operator = 0;
+            for (int i = 0; i < BLOCK; i += Long.BYTES) {
+                long word = (long) LONGS.get(buf, offset + i);
+                // '[' and ']' differ from '{' and '}' only in bit 0x20
+                long lower = word | LOWER;
+                quote |= pack(zeroBytes(word ^ QUOTE)) << i;
+                backslash |= pack(zeroBytes(word ^ BACKSLASH)) << i;
+                operator |= pack(zeroBytes(lower ^ OPEN) | zeroBytes(lower ^ CLOSE)
+                        | zeroBytes(word ^ COLON) | zeroBytes(word ^ COMMA)) << i;
+            }
+            quotes = quote;
+            backslashes = backslash;
+            operators = operator;
+        }
+
+        // high bit of every byte that is zero, with no false positives from borrows
+        private static long zeroBytes(long v) {
+            long t = (v & LOW7) + LOW7;
+            return ~(t | v | LOW7);
+        }
+
+        // gathers the high bit of byte k into bit k
+        private static long pack(long highBits) {
+            return ((highBits >>> 7) * 0x0102040810204080L) >>> 56;
+        }
+    }
+}
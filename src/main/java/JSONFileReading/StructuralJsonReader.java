@@ -0,0 +1,328 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reader for large inputs of flat records (a top-level array of objects, or newline-delimited
+ * objects) that finds structure in 64-byte blocks instead of byte by byte.
+ * <p>
+ * A {@link StructuralIndexer} marks quotes and operators outside strings for a whole block at
+ * once, the reader walks those positions and a {@link FlatRecordBinder} binds keys and values
+ * straight from the bytes. Input is read through a sliding window, so memory stays bounded by
+ * the window and the largest record. A record with a nested object or array, or with a value the
+ * binder does not decode itself (1.0 or 1e2 for an int, say), is handed to Jackson, and types
+ * without a binder use {@link JsonRecordReader}, so the result is always the same as the
+ * Jackson path with the IGNORE_UNKNOWN profile.
+ * <p>
+ * Blocks are classified eight bytes at a time in a long (SWAR); the Vector API classifier is
+ * used instead when it was built with {@code -Pvector} and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector -Djson.structural.vector=true}.
+ */
+public final class StructuralJsonReader<T> implements Closeable {
+    private static final int WINDOW = 1 << 20;
+    private static final int END = -1;
+    private static final int MORE = -2;
+
+    private final InputStream input;
+    private final FlatRecordBinder<T> binder;
+    private final ObjectReader fallback;
+    private final StructuralIndexer indexer = StructuralIndexer.create();
+    private final FlatRecordBinder.Value value = new FlatRecordBinder.Value();
+    private final byte[] tail = new byte[StructuralIndexer.BLOCK];
+
+    private byte[] buf;
+    private int limit;
+    private boolean eof;
+    // bytes before mark are consumed and may be dropped by the next refill
+    private int mark;
+    private int blockStart;
+    private int bitsBase;
+    private long bits;
+
+    private StructuralJsonReader(InputStream input, byte[] buf, int limit, FlatRecordBinder<T> binder) {
+        this.input = input;
+        this.buf = buf;
+        this.limit = limit;
+        this.eof = input == null;
+        this.binder = binder;
+        this.fallback = JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, binder.type());
+    }
+
+    public StructuralJsonReader(InputStream input, FlatRecordBinder<T> binder) {
+        this(input, new byte[WINDOW], 0, binder);
+    }
+
+    public StructuralJsonReader(byte[] json, FlatRecordBinder<T> binder) {
+        this(null, json, json.length, binder);
+    }
+
+    /**
+     * Name of the block classifier in use: "vector-&lt;bits&gt;" or "swar".
+     */
+    public static String implementation() {
+        return StructuralIndexer.create().name();
+    }
+
+    public static <T> long forEach(Path file, FlatRecordBinder<T> binder, Consumer<? super T> sink) throws IOException {
+        try (StructuralJsonReader<T> reader = new StructuralJsonReader<>(Files.newInputStream(file), binder)) {
+            return reader.forEach(sink);
+        }
+    }
+
+    /**
+     * Reads any type: EntityModel and Model use their binder, other types go through {@link JsonRecordReader}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long forEach(Path file, Class<T> type, Consumer<? super T> sink) throws IOException {
+        if (type == EntityModel.class || type == CreateDTOAndReadUsingFileStreams.Model.class) {
+            FlatRecordBinder<?> binder = type == EntityModel.class ? FlatRecordBinder.ENTITY_MODEL : FlatRecordBinder.MODEL;
+            return forEach(file, (FlatRecordBinder<T>) binder, sink);
+        }
+        long count = 0;
+        try (JsonRecordReader<T> reader = new JsonRecordReader<>(Files.newInputStream(file),
+                JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type))) {
+            while (reader.hasNext()) {
+                sink.accept(reader.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Binds every record and passes it to {@code sink}; returns the number of records.
+     */
+    public long forEach(Consumer<? super T> sink) throws IOException {
+        long count = 0;
+        int s = nextAtTopLevel();
+        if (s == END) {
+            return 0;
+        }
+        boolean inArray = buf[s] == '[';
+        if (inArray) {
+            mark = s + 1;
+            s = nextAtTopLevel();
+        }
+        while (s != END) {
+            byte c = buf[s];
+            if (c == ']' && inArray) {
+                break;
+            }
+            if (c == ',') {
+                mark = s + 1;
+                s = nextAtTopLevel();
+                continue;
+            }
+            if (c != '{') {
+                throw malformed(s, "expected an object");
+            }
+            mark = s;
+            int end = readRecord(s, sink);
+            if (end == MORE) {
+                // the window ended inside the record: slide the window to the record and start over
+                refill();
+                s = nextAtTopLevel();
+                continue;
+            }
+            if (end == END) {
+                throw malformed(limit, "unexpected end of input inside a record");
+            }
+            count++;
+            mark = end;
+            s = nextAtTopLevel();
+        }
+        return count;
+    }
+
+    private int nextAtTopLevel() throws IOException {
+        int s;
+        while ((s = next()) == MORE) {
+            refill();
+        }
+        return s;
+    }
+
+    // position of the next structural character, END, or MORE if the window needs more input
+    private int next() {
+        while (bits == 0) {
+            if (blockStart >= limit) {
+                return eof ? END : MORE;
+            }
+            if (blockStart + StructuralIndexer.BLOCK <= limit) {
+                bits = indexer.structurals(buf, blockStart);
+            } else if (eof) {
+                // pad the last partial block with spaces, which are never structural
+                int length = limit - blockStart;
+                Arrays.fill(tail, (byte) ' ');
+                System.arraycopy(buf, blockStart, tail, 0, length);
+                bits = indexer.structurals(tail, 0);
+            } else {
+                return MORE;
+            }
+            bitsBase = blockStart;
+            blockStart += StructuralIndexer.BLOCK;
+        }
+        int position = bitsBase + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        return position;
+    }
+
+    // Binds the object opening at 'open'; returns the position after it, END or MORE
+    private int readRecord(int open, Consumer<? super T> sink) throws IOException {
+        T record = binder.create();
+        int s = next();
+        if (s < 0) {
+            return s;
+        }
+        if (buf[s] == '}') {
+            sink.accept(record);
+            return s + 1;
+        }
+        while (true) {
+            if (buf[s] != '"') {
+                throw malformed(s, "expected a field name");
+            }
+            int keyEnd = next();
+            if (keyEnd < 0) {
+                return keyEnd;
+            }
+            int colon = next();
+            if (colon < 0) {
+                return colon;
+            }
+            if (buf[colon] != ':') {
+                throw malformed(colon, "expected ':'");
+            }
+            int v = next();
+            if (v < 0) {
+                return v;
+            }
+            int after;
+            byte c = buf[v];
+            if (c == '"') {
+                int close = next();
+                if (close < 0) {
+                    return close;
+                }
+                value.setString(buf, v + 1, close, indexer.backslashSeen() && contains(v + 1, close, (byte) '\\'));
+                after = next();
+                if (after < 0) {
+                    return after;
+                }
+            } else if (c == '{' || c == '[') {
+                return readWithJackson(open, sink);
+            } else {
+                value.setScalar(buf, colon + 1, v);
+                after = v;
+            }
+            if (indexer.backslashSeen() && contains(s + 1, keyEnd, (byte) '\\')) {
+                return readWithJackson(open, sink);
+            }
+            int field = binder.field(buf, s + 1, keyEnd);
+            if (field >= 0) {
+                try {
+                    binder.set(record, field, value);
+                } catch (FlatRecordBinder.NotFlat e) {
+                    return readWithJackson(open, sink);
+                }
+            }
+            if (buf[after] == '}') {
+                sink.accept(record);
+                return after + 1;
+            }
+            if (buf[after] != ',') {
+                throw malformed(after, "expected ',' or '}'");
+            }
+            s = next();
+            if (s < 0) {
+                return s;
+            }
+        }
+    }
+
+    // Records that are not flat are bound by Jackson; the walk resumes after them
+    private int readWithJackson(int open, Consumer<? super T> sink) throws IOException {
+        T record;
+        int end;
+        try (JsonParser parser = JsonCodecs.factory().createParser(buf, open, limit - open)) {
+            record = fallback.readValue(parser);
+            end = open + (int) parser.currentLocation().getByteOffset();
+        } catch (IOException e) {
+            if (!eof && endOfWindow(e)) {
+                return MORE;
+            }
+            throw e;
+        }
+        sink.accept(record);
+        resetAt(end);
+        return end;
+    }
+
+    // databind wraps the parser's end-of-input error, so look through the causes
+    private static boolean endOfWindow(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonEOFException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (buf[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void resetAt(int position) {
+        indexer.reset();
+        blockStart = position;
+        bits = 0;
+    }
+
+    // Drops the bytes before mark, reads more input and re-indexes from the (new) mark
+    private void refill() throws IOException {
+        int kept = limit - mark;
+        if (mark == 0 && kept == buf.length) {
+            // a single record is larger than the window
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        } else {
+            System.arraycopy(buf, mark, buf, 0, kept);
+        }
+        limit = kept;
+        mark = 0;
+        while (limit < buf.length) {
+            int read = input.read(buf, limit, buf.length - limit);
+            if (read < 0) {
+                eof = true;
+                break;
+            }
+            limit += read;
+        }
+        resetAt(0);
+    }
+
+    private static IOException malformed(int position, String message) {
+        return new IOException("Malformed JSON at window offset " + position + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+        }
+    }
+}
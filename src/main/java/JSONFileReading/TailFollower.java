@@ -0,0 +1,264 @@
+package JSONFileReading;
+
+import Instrumentation.CodecMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follows the newline-delimited JSON files of a directory as they grow, like {@code tail -F}.
+ * <p>
+ * For each file the byte offset after the last complete line handed to the sink is kept in a
+ * checkpoint properties file, replaced atomically after every batch, so a restart resumes where
+ * the previous run stopped and only bytes appended since then are read and parsed. A line that
+ * is still being written (no trailing newline yet) is left for the next round. A file that
+ * shrank below its checkpoint, or was replaced by a different file under the same name, is read
+ * again from the start. Records are delivered at least once: a crash between the sink and the
+ * checkpoint write replays that batch. Lines that fail to parse are skipped and counted as
+ * {@code codec.errors}.
+ * <pre>
+ * try (TailFollower&lt;Model&gt; follower = new TailFollower&lt;&gt;(dir, "*.ndjson", Model.class, dir.resolve(".offsets"))) {
+ *     follower.follow(model -&gt; ...);   // blocks until closed or interrupted
+ * }
+ * </pre>
+ */
+public class TailFollower<T> implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long POLL_SECONDS = 5;
+    private static final String OPERATION = "json.tail";
+
+    private final Path directory;
+    private final PathMatcher matcher;
+    private final Class<T> type;
+    private final TypedJsonReader<T> reader;
+    private final Path checkpointFile;
+    private final Properties checkpoints = new Properties();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private volatile WatchService watcher;
+    private volatile boolean closed;
+
+    public TailFollower(Path directory, String glob, Class<T> type, Path checkpointFile) throws IOException {
+        this.directory = directory;
+        this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        this.type = type;
+        this.reader = JsonCodecs.typedReader(JsonCodecs.Profile.IGNORE_UNKNOWN, type);
+        this.checkpointFile = checkpointFile;
+        if (Files.exists(checkpointFile)) {
+            try (InputStream inputStream = Files.newInputStream(checkpointFile)) {
+                checkpoints.load(inputStream);
+            }
+        }
+    }
+
+    /**
+     * Reads what was appended to every matching file since its checkpoint; returns the number of records.
+     */
+    public long poll(Consumer<? super T> sink) throws IOException {
+        long records = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, file -> matches(file) && Files.isRegularFile(file))) {
+            for (Path file : files) {
+                records += catchUp(file, sink);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Catches up with every file, then waits for the directory to change and reads only the files
+     * that did. Returns when the follower is closed; a periodic full poll covers lost events.
+     */
+    public void follow(Consumer<? super T> sink) throws IOException {
+        try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+            watcher = watchService;
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            poll(sink);
+            while (!closed) {
+                WatchKey key = watchService.poll(POLL_SECONDS, TimeUnit.SECONDS);
+                if (key == null) {
+                    poll(sink);
+                    continue;
+                }
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else {
+                        changed.add(directory.resolve((Path) event.context()));
+                    }
+                }
+                key.reset();
+                if (overflow) {
+                    poll(sink);
+                    continue;
+                }
+                for (Path file : changed) {
+                    if (matches(file) && Files.isRegularFile(file)) {
+                        catchUp(file, sink);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed from another thread
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while following " + directory);
+        } finally {
+            watcher = null;
+        }
+    }
+
+    /**
+     * Committed offset of {@code file}, 0 if it was never read.
+     */
+    public long offset(Path file) {
+        Checkpoint checkpoint = checkpoint(file.getFileName().toString());
+        return checkpoint == null ? 0 : checkpoint.offset;
+    }
+
+    private boolean matches(Path file) {
+        Path name = file.getFileName();
+        return name != null && matcher.matches(name) && !file.equals(checkpointFile);
+    }
+
+    // Parses the complete lines after the checkpoint of 'file' and moves the checkpoint past them
+    private long catchUp(Path file, Consumer<? super T> sink) throws IOException {
+        String name = file.getFileName().toString();
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            String fileKey = String.valueOf(Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+            long size = channel.size();
+            Checkpoint checkpoint = checkpoint(name);
+            long offset = checkpoint == null ? 0 : checkpoint.offset;
+            if (offset > size || (checkpoint != null && !checkpoint.fileKey.equals(fileKey))) {
+                // truncated or rotated: the bytes before the checkpoint are not the ones we read
+                offset = 0;
+            }
+            long start = offset;
+            while (offset < size) {
+                buffer.clear();
+                int read = channel.read(buffer, offset);
+                if (read <= 0) {
+                    break;
+                }
+                int end = lastNewline(buffer.array(), read) + 1;
+                if (end == 0) {
+                    if (read < buffer.capacity()) {
+                        // only a partial line so far
+                        break;
+                    }
+                    // one line longer than the buffer
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                    continue;
+                }
+                records += parseLines(buffer.array(), end, file, offset, sink);
+                offset += end;
+                commit(name, new Checkpoint(offset, fileKey));
+            }
+            if (checkpoint == null || offset == start && (offset != checkpoint.offset || !checkpoint.fileKey.equals(fileKey))) {
+                // nothing new, but the file is new, truncated or rotated
+                commit(name, new Checkpoint(offset, fileKey));
+            }
+            CodecMetrics.bytes(OPERATION, type, offset - start);
+        } catch (NoSuchFileException e) {
+            // deleted between listing and reading
+            return records;
+        }
+        CodecMetrics.records(OPERATION, type, records);
+        return records;
+    }
+
+    private long parseLines(byte[] bytes, int length, Path file, long fileOffset, Consumer<? super T> sink) {
+        long records = 0;
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            if (!isBlank(bytes, lineStart, i)) {
+                try {
+                    sink.accept(reader.read(bytes, lineStart, i - lineStart));
+                    records++;
+                } catch (IOException e) {
+                    CodecMetrics.error(OPERATION, type, e);
+                    System.err.println("Skipping malformed line at " + file + ":" + (fileOffset + lineStart) + ": " + e.getMessage());
+                }
+            }
+            lineStart = i + 1;
+        }
+        return records;
+    }
+
+    private static int lastNewline(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Checkpoint checkpoint(String name) {
+        String value = checkpoints.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(" ", 2);
+        return new Checkpoint(Long.parseLong(parts[0]), parts.length > 1 ? parts[1] : "");
+    }
+
+    private void commit(String name, Checkpoint checkpoint) throws IOException {
+        checkpoints.setProperty(name, checkpoint.offset + " " + checkpoint.fileKey);
+        AtomicFiles.write(checkpointFile, outputStream -> checkpoints.store(outputStream, "offset and file key of each followed file"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        WatchService watchService = watcher;
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private static final class Checkpoint {
+        final long offset;
+        final String fileKey;
+
+        Checkpoint(long offset, String fileKey) {
+            this.offset = offset;
+            this.fileKey = fileKey;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package JSONFileReading;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Typed view of a cached ObjectReader, obtained from {@link JsonCodecs#typedReader}.
+ * Holding on to an instance makes a read a single call with no type lookup, no cast
+ * at the call site and no instance allocated just to name the target type.
+ * Instances are immutable and thread-safe.
+ */
+public final class TypedJsonReader<T> {
+    private final ObjectReader reader;
+
+    TypedJsonReader(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    public T read(String json) throws IOException {
+        return reader.readValue(json);
+    }
+
+    public T read(byte[] json) throws IOException {
+        return reader.readValue(json);
+    }
+
+    public T read(byte[] json, int offset, int length) throws IOException {
+        return reader.readValue(json, offset, length);
+    }
+
+    /**
+     * Reads the remaining bytes of {@code json} without moving its position.
+     * Heap buffers are parsed in place; direct and mapped buffers are streamed.
+     */
+    public T read(ByteBuffer json) throws IOException {
+        if (json.hasArray()) {
+            return reader.readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        return reader.readValue(new ByteBufferBackedInputStream(json.duplicate()));
+    }
+
+    /**
+     * Reads one value from {@code json}; the stream is not closed, it stays with the caller.
+     */
+    public T read(InputStream json) throws IOException {
+        try (JsonParser parser = reader.createParser(json)) {
+            // otherwise closing the parser closes the caller's stream
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Reads a file on disk through a memory mapping, see {@link MappedFiles}.
+     */
+    public T read(Path json) throws IOException {
+        try (InputStream inputStream = MappedFiles.open(json)) {
+            return reader.readValue(inputStream);
+        }
+    }
+
+    public ObjectReader objectReader() {
+        return reader;
+    }
+}
@@ -0,0 +1,108 @@
+package JSONFileReading;
+
+import Instrumentation.CodecMetrics;
+import jakarta.validation.ConstraintViolation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link JsonRecordReader} that validates each record right after binding it, while it is still
+ * in cache, and only returns the valid ones. Invalid records go to the reject sink with their
+ * index in the input and the stream carries on, so one bad record never aborts a large file.
+ * <pre>
+ * try (ValidatingRecordReader&lt;Model&gt; reader = new ValidatingRecordReader&lt;&gt;(inputStream, Model.class,
+ *         rejected -&gt; log.warn("record {}: {}", rejected.getIndex(), rejected.message()))) {
+ *     reader.forEachRemaining(this::store);
+ * }
+ * </pre>
+ */
+public class ValidatingRecordReader<T> implements Iterator<T>, Closeable {
+    private static final String OPERATION = "json.rejected";
+
+    private final JsonRecordReader<T> records;
+    private final RecordValidator<T> validator;
+    private final Consumer<? super RejectedRecord<T>> rejects;
+    private long index;
+    private long rejected;
+    private T next;
+
+    public ValidatingRecordReader(InputStream inputStream, Class<T> type, Consumer<? super RejectedRecord<T>> rejects) throws IOException {
+        this(new JsonRecordReader<>(inputStream, JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type)),
+                RecordValidator.forType(type), rejects);
+    }
+
+    public ValidatingRecordReader(JsonRecordReader<T> records, RecordValidator<T> validator, Consumer<? super RejectedRecord<T>> rejects) {
+        this.records = records;
+        this.validator = validator;
+        this.rejects = rejects;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && records.hasNext()) {
+            T record = records.next();
+            if (record == null) {
+                // a literal null has nothing to validate or return
+                index++;
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(record);
+            if (violations.isEmpty()) {
+                next = record;
+            } else {
+                rejected++;
+                CodecMetrics.records(OPERATION, validator.type(), 1);
+                rejects.accept(new RejectedRecord<>(index, record, violations));
+            }
+            index++;
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Number of records sent to the reject sink so far.
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+    /**
+     * Sequential stream over the remaining valid records; closing the stream closes the parser.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
@@ -0,0 +1,42 @@
+package JSONFileReading;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link StructuralIndexer} using the incubating Vector API, one lane-wise compare per
+ * character class. Only loaded reflectively by {@link StructuralIndexer#create()} once the
+ * {@code jdk.incubator.vector} module is known to be present, so the rest of the reader
+ * works on JVMs started without it.
+ */
+final class VectorStructuralIndexer extends StructuralIndexer {
+    // every preferred species length (8 to 64 bytes) divides a block evenly
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    void classify(byte[] buf, int offset) {
+        long quote = 0;
+        long backslash = 0;
+        long operator = 0;
+        for (int i = 0; i < BLOCK; i += SPECIES.length()) {
+            ByteVector bytes = ByteVector.fromArray(SPECIES, buf, offset + i);
+            // '[' and ']' differ from '{' and '}' only in bit 0x20
+            ByteVector lower = bytes.or((byte) 0x20);
+            quote |= bytes.eq((byte) '"').toLong() << i;
+            backslash |= bytes.eq((byte) '\\').toLong() << i;
+            operator |= lower.eq((byte) '{')
+                    .or(lower.eq((byte) '}'))
+                    .or(bytes.eq((byte) ':'))
+                    .or(bytes.eq((byte) ','))
+                    .toLong() << i;
+        }
+        quotes = quote;
+        backslashes = backslash;
+        operators = operator;
+    }
+}
@@ -0,0 +1,92 @@
+package XMLFileReading;
+
+import JSONFileReading.JsonCodecs;
+import JSONFileReading.JsonRecordReader;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Entry point that sniffs whether a resource or file holds JSON or XML and
+ * dispatches it to {@link JsonRecordReader} or {@link XmlRecordReader}.
+ */
+public final class RecordReaders {
+    private static final int SNIFF_LIMIT = 256;
+
+    public enum Format {
+        JSON, XML
+    }
+
+    private RecordReaders() {
+    }
+
+    public static <T> Stream<T> streamResource(String resource, Class<T> type) throws IOException {
+        InputStream inputStream = type.getResourceAsStream(resource);
+        if (inputStream == null) {
+            throw new FileNotFoundException("Resource not found: " + resource);
+        }
+        return stream(inputStream, type);
+    }
+
+    public static <T> Stream<T> streamFile(Path path, Class<T> type) throws IOException {
+        return stream(Files.newInputStream(path), type);
+    }
+
+    /**
+     * Streams the records of {@code inputStream}; closing the returned stream closes the input.
+     */
+    public static <T> Stream<T> stream(InputStream inputStream, Class<T> type) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        ObjectReader reader = JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type);
+        try {
+            if (sniff(buffered) == Format.XML) {
+                return new XmlRecordReader<T>(buffered, reader).stream();
+            }
+            return new JsonRecordReader<T>(buffered, reader).stream();
+        } catch (IOException | RuntimeException e) {
+            buffered.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Looks at the first significant byte without consuming it: '&lt;' means XML, '{' or '[' means JSON.
+     */
+    public static Format sniff(BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                int b = inputStream.read();
+                switch (b) {
+                    case -1:
+                        throw new IOException("Cannot detect format of an empty input");
+                    case '<':
+                        return Format.XML;
+                    case '{':
+                    case '[':
+                        return Format.JSON;
+                    case ' ':
+                    case '\t':
+                    case '\r':
+                    case '\n':
+                    case 0xEF:
+                    case 0xBB:
+                    case 0xBF:
+                        // whitespace and the UTF-8 byte order mark
+                        continue;
+                    default:
+                        throw new IOException("Unrecognized format, first byte: 0x" + Integer.toHexString(b));
+                }
+            }
+            throw new IOException("No content found in the first " + SNIFF_LIMIT + " bytes");
+        } finally {
+            inputStream.reset();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package XMLFileReading;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.EntityModel;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+public class XMLFileReading {
+    public static void main(String[] args) throws IOException {
+        System.out.println("Opening XML File");
+        getFile();
+        readModel();
+    }
+
+    public static void getFile() throws IOException {
+        try (Stream<EntityModel> entityModels = RecordReaders.streamResource("/EntityModelList.xml", EntityModel.class)) {
+            entityModels.forEach(entityModel ->
+                    System.out.println("Deserialized ID: " + entityModel.getId() + ", Name: " + entityModel.getName()));
+        }
+    }
+
+    // The same entry point handles both formats, the file content decides which reader is used
+    public static void readModel() throws IOException {
+        try (Stream<Model> xmlModels = RecordReaders.streamResource("/model.xml", Model.class);
+             Stream<Model> jsonModels = RecordReaders.streamResource("/model.json", Model.class)) {
+            xmlModels.forEach(model -> System.out.println("From XML: " + model));
+            jsonModels.forEach(model -> System.out.println("From JSON: " + model));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package XMLFileReading;
+
+import JSONFileReading.JsonCodecs;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull-based (StAX) XML counterpart of {@link JSONFileReading.JsonRecordReader}.
+ * Each record element is translated into Jackson tokens and bound through the same
+ * cached ObjectReader used for JSON, so the DTOs need no XML-specific mapping.
+ * <p>
+ * Two layouts are supported:
+ * <pre>
+ * &lt;entityModels&gt;                      &lt;model&gt;
+ *   &lt;entityModel&gt;                        &lt;id&gt;1&lt;/id&gt;
+ *     &lt;id&gt;1&lt;/id&gt;&lt;name&gt;Sai&lt;/name&gt;      &lt;fruitName&gt;Apple&lt;/fruitName&gt;
+ *   &lt;/entityModel&gt;                     &lt;/model&gt;
+ * &lt;/entityModels&gt;
+ * </pre>
+ * a root wrapping many record elements, or a root that is itself a single record.
+ * Attributes are treated like child elements. Only one record is held in memory at a time.
+ */
+public class XmlRecordReader<T> implements Iterator<T>, Closeable {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createFactory();
+
+    private final InputStream input;
+    private final XMLStreamReader xml;
+    private final ObjectReader reader;
+    private TokenBuffer pending;
+    private boolean singleRecord;
+
+    public XmlRecordReader(InputStream inputStream, Class<T> type) throws IOException {
+        this(inputStream, JsonCodecs.reader(JsonCodecs.Profile.IGNORE_UNKNOWN, type));
+    }
+
+    public XmlRecordReader(InputStream inputStream, ObjectReader reader) throws IOException {
+        this.input = inputStream;
+        this.reader = reader;
+        try {
+            this.xml = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            if (nextStartOrEnd() == XMLStreamConstants.START_ELEMENT) {
+                readFirstRecord();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    // Positioned on the root element: decides whether the root wraps records or is one
+    private void readFirstRecord() throws XMLStreamException, IOException {
+        TokenBuffer root = new TokenBuffer(null, false);
+        root.writeStartObject();
+        writeAttributes(root);
+        boolean hasAttributes = xml.getAttributeCount() > 0;
+        if (nextStartOrEnd() != XMLStreamConstants.START_ELEMENT) {
+            // an empty root is an empty collection unless its attributes make it a record
+            root.writeEndObject();
+            pending = hasAttributes ? root : null;
+            singleRecord = true;
+            return;
+        }
+        String firstName = xml.getLocalName();
+        TokenBuffer first = new TokenBuffer(null, false);
+        writeElement(first);
+        if (first.asParser().nextToken() == JsonToken.START_OBJECT) {
+            pending = first;
+            return;
+        }
+        // the root's children are plain values, so the root itself is the only record
+        singleRecord = true;
+        root.writeFieldName(firstName);
+        first.serialize(root);
+        while (nextStartOrEnd() == XMLStreamConstants.START_ELEMENT) {
+            root.writeFieldName(xml.getLocalName());
+            writeElement(root);
+        }
+        root.writeEndObject();
+        pending = root;
+    }
+
+    private int nextStartOrEnd() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT) {
+                return event;
+            }
+        }
+        return XMLStreamConstants.END_DOCUMENT;
+    }
+
+    // Positioned on a START_ELEMENT: writes the element as an object or a string value
+    private void writeElement(TokenBuffer out) throws XMLStreamException, IOException {
+        boolean isObject = xml.getAttributeCount() > 0;
+        if (isObject) {
+            out.writeStartObject();
+            writeAttributes(out);
+        }
+        StringBuilder text = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (!isObject) {
+                    isObject = true;
+                    out.writeStartObject();
+                }
+                out.writeFieldName(xml.getLocalName());
+                writeElement(out);
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (!isObject) {
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(xml.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        if (isObject) {
+            out.writeEndObject();
+        } else {
+            out.writeString(text == null ? "" : text.toString());
+        }
+    }
+
+    private void writeAttributes(TokenBuffer out) throws IOException {
+        for (int i = 0; i < xml.getAttributeCount(); i++) {
+            out.writeFieldName(xml.getAttributeLocalName(i));
+            out.writeString(xml.getAttributeValue(i));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null;
+    }
+
+    @Override
+    public T next() {
+        if (pending == null) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T record = reader.readValue(pending.asParser());
+            pending = null;
+            if (!singleRecord && nextStartOrEnd() == XMLStreamConstants.START_ELEMENT) {
+                pending = new TokenBuffer(null, false);
+                writeElement(pending);
+            }
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Malformed XML: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Sequential stream over the remaining records; closing the stream closes the XML reader.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            input.close();
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package cloning;
 
+import java.io.Serializable;
+
 /**
  * Address class - represents a nested object to demonstrate shallow vs deep cloning
  * This is a mutable reference type that will be shared in shallow cloning
  * but duplicated in deep cloning
  */
-public class Address implements Cloneable {
+public class Address implements AddressView, Cloneable, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String street;
     private String city;
     private String zipCode;
     private String country;
 
+    // For DeepCopier, which sets every field itself
+    private Address() {
+    }
+
     public Address(String street, String city, String zipCode, String country) {
         this.street = street;
         this.city = city;
@@ -19,6 +27,7 @@ public class Address implements Cloneable {
     }
 
     // Getters and Setters
+    @Override
     public String getStreet() {
         return street;
     }
@@ -27,6 +36,7 @@ public class Address implements Cloneable {
         this.street = street;
     }
 
+    @Override
     public String getCity() {
         return city;
     }
@@ -35,6 +45,7 @@ public class Address implements Cloneable {
         this.city = city;
     }
 
+    @Override
     public String getZipCode() {
         return zipCode;
     }
@@ -43,6 +54,7 @@ public class Address implements Cloneable {
         this.zipCode = zipCode;
     }
 
+    @Override
     public String getCountry() {
         return country;
     }
@@ -0,0 +1,15 @@
+package cloning;
+
+/**
+ * Read-only side of an Address - what Person.getAddressView() hands out, so a
+ * copy-on-write snapshot can be read without copying its shared Address
+ */
+public interface AddressView {
+    String getStreet();
+
+    String getCity();
+
+    String getZipCode();
+
+    String getCountry();
+}
@@ -23,21 +23,28 @@ public class ComparisonExample {
         ArrayList<String> hobbies2 = new ArrayList<>(Arrays.asList("Coding", "Gaming"));
         Person original2 = new Person("Alice", 28, address2, hobbies2);
 
-        System.out.println("Starting with two identical persons:\n");
+        Address address3 = new Address("456 Oak Ave", "Boston", "02101", "USA");
+        ArrayList<String> hobbies3 = new ArrayList<>(Arrays.asList("Coding", "Gaming"));
+        Person original3 = new Person("Alice", 28, address3, hobbies3);
+
+        System.out.println("Starting with three identical persons:\n");
         System.out.println("Person 1: " + original1);
         System.out.println("Person 2: " + original2);
+        System.out.println("Person 3: " + original3);
         System.out.println("\n" + "=".repeat(60) + "\n");
 
         // Create shallow and deep clones
         Person shallowClone = original1.shallowClone();
         Person deepClone = original2.deepClone();
+        Person copyOnWriteClone = original3.copyOnWriteClone();
 
         System.out.println("SHALLOW CLONE created from Person 1");
         System.out.println("DEEP CLONE created from Person 2");
+        System.out.println("COPY-ON-WRITE CLONE created from Person 3 (nothing copied yet)");
         System.out.println("\n" + "=".repeat(60) + "\n");
 
         // Modify both clones identically
-        System.out.println("Now modifying BOTH clones in the same way:");
+        System.out.println("Now modifying ALL clones in the same way:");
         System.out.println("  - Change name to 'Bob'");
         System.out.println("  - Change age to 35");
         System.out.println("  - Change city to 'Chicago'");
@@ -54,6 +61,11 @@ public class ComparisonExample {
         deepClone.getAddress().setCity("Chicago");
         deepClone.getHobbies().add("Traveling");
 
+        copyOnWriteClone.setName("Bob");
+        copyOnWriteClone.setAge(35);
+        copyOnWriteClone.getAddress().setCity("Chicago");
+        copyOnWriteClone.getHobbies().add("Traveling");
+
         System.out.println("=".repeat(60));
         System.out.println("RESULTS AFTER MODIFICATION:");
         System.out.println("=".repeat(60) + "\n");
@@ -84,6 +96,19 @@ public class ComparisonExample {
         System.out.println("│    - Hobbies unchanged: " + original2.getHobbies().size() + " items (as expected!)");
         System.out.println("└────────────────────────────────────────────────────────────┘\n");
 
+        // Show copy-on-write cloning results
+        System.out.println("┌─ COPY-ON-WRITE CLONING ───────────────────────────────────┐");
+        System.out.println("│ Original Person 3 (after modifying copy-on-write clone):  │");
+        System.out.println("│ " + original3);
+        System.out.println("│                                                            │");
+        System.out.println("│ Copy-on-write Clone:                                       │");
+        System.out.println("│ " + copyOnWriteClone);
+        System.out.println("│                                                            │");
+        System.out.println("│ ✓ SUCCESS: Original is unchanged!                          │");
+        System.out.println("│    - City unchanged: " + original3.getAddressView().getCity() + " (copied on first getAddress())");
+        System.out.println("│    - Hobbies unchanged: " + original3.getHobbiesView().size() + " items (copied on first getHobbies())");
+        System.out.println("└────────────────────────────────────────────────────────────┘\n");
+
         // Summary
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║                         SUMMARY                            ║");
@@ -99,6 +124,12 @@ public class ComparisonExample {
         System.out.println("║   • Creates independent copies of all nested objects       ║");
         System.out.println("║   • Changes to nested objects are isolated                 ║");
         System.out.println("║   • Use when: You need complete independence               ║");
+        System.out.println("║                                                            ║");
+        System.out.println("║ COPY-ON-WRITE CLONING:                                     ║");
+        System.out.println("║   • As cheap as a shallow clone to create                  ║");
+        System.out.println("║   • Copies a nested object on first access through getters ║");
+        System.out.println("║   • Changes are isolated, reads through views copy nothing ║");
+        System.out.println("║   • Use when: Most clones are only read                    ║");
         System.out.println("╚════════════════════════════════════════════════════════════╝");
     }
 }
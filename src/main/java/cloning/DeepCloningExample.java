@@ -78,6 +78,22 @@ public class DeepCloningExample {
         System.out.println("WHY? Because deep cloning creates NEW copies of all nested");
         System.out.println("objects. Original and clone have completely separate Address");
         System.out.println("and Hobbies objects in memory. They are fully independent!");
+        System.out.println();
+
+        System.out.println("--- Copy-on-write: the same isolation, copied only when needed ---\n");
+
+        Person snapshot = original.copyOnWriteClone();
+        System.out.println("Snapshot shares the Address until it is accessed? "
+                + (snapshot.getAddressView() == original.getAddressView()));
+
+        // getAddress() copies the shared Address first, so the original is not affected
+        snapshot.getAddress().setCity("Chicago");
+        snapshot.getHobbies().add("Cycling");
+
+        System.out.println("  - Original city: " + original.getAddressView().getCity() + " (UNCHANGED!)");
+        System.out.println("  - Snapshot city: " + snapshot.getAddressView().getCity() + " (changed)");
+        System.out.println("  - Original hobbies: " + original.getHobbiesView() + " (UNCHANGED!)");
+        System.out.println("  - Snapshot hobbies: " + snapshot.getHobbiesView() + " (changed)");
     }
 }
 
@@ -1,5 +1,9 @@
 package cloning;
 
+import Instrumentation.CodecMetrics;
+import JSONFileReading.JsonCodecs;
+import com.google.gson.Gson;
+
 import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +14,8 @@ import java.util.Arrays;
  * 1. Manual Deep Clone (implemented in Person class)
  * 2. Serialization-based Deep Clone
  * 3. JSON-based Deep Clone (using Gson)
+ * 4. Generated copier (DeepCopier)
+ * 5. Copy-on-write clone (implemented in Person class)
  */
 public class DeepCloningTechniques {
 
@@ -31,7 +37,7 @@ public class DeepCloningTechniques {
         System.out.println("- Most control and best performance");
         System.out.println("- Requires implementing clone logic for each class");
         
-        Person manualClone = original.deepClone();
+        Person manualClone = CodecMetrics.time("clone.manual", Person.class, original::deepClone);
         manualClone.getAddress().setCity("Portland");
         
         System.out.println("\nOriginal city: " + original.getAddress().getCity());
@@ -44,8 +50,12 @@ public class DeepCloningTechniques {
         System.out.println("- Serialize object to bytes, then deserialize");
         System.out.println("- Automatic deep copy of entire object graph");
         System.out.println("- Requires all classes to implement Serializable");
-        System.out.println("- Note: Person class needs to implement Serializable for this");
-        System.out.println("  (Not implemented in this example)");
+
+        Person serializedClone = deepCloneUsingSerialization(original);
+        serializedClone.getHobbies().add("Chess");
+
+        System.out.println("\nOriginal hobbies: " + original.getHobbies());
+        System.out.println("Clone hobbies: " + serializedClone.getHobbies());
         System.out.println("\n" + "=".repeat(60) + "\n");
 
         // Technique 3: JSON-based Deep Clone
@@ -54,7 +64,39 @@ public class DeepCloningTechniques {
         System.out.println("- Works without Serializable interface");
         System.out.println("- Slower but very flexible");
         System.out.println("- Requires external library like Gson or Jackson");
-        System.out.println("  (Example code available but commented out)");
+
+        Person jsonClone = deepCloneUsingJson(original);
+        jsonClone.getAddress().setStreet("1 Main St");
+
+        System.out.println("\nOriginal street: " + original.getAddress().getStreet());
+        System.out.println("Clone street: " + jsonClone.getAddress().getStreet());
+        System.out.println("\n" + "=".repeat(60) + "\n");
+
+        // Technique 4: Generated copier
+        System.out.println("TECHNIQUE 4: Generated Copier (DeepCopier)");
+        System.out.println("- Builds a field-by-field copier per class on first use and caches it");
+        System.out.println("- No Cloneable, Serializable or library needed; handles cycles");
+        System.out.println("- Close to manual clone speed after the first call");
+
+        Person generatedClone = DeepCopier.deepCopy(original);
+        generatedClone.getHobbies().clear();
+
+        System.out.println("\nOriginal hobbies: " + original.getHobbies());
+        System.out.println("Clone hobbies: " + generatedClone.getHobbies());
+        System.out.println("\n" + "=".repeat(60) + "\n");
+
+        // Technique 5: Copy-on-write clone
+        System.out.println("TECHNIQUE 5: Copy-on-write Clone");
+        System.out.println("- Clone shares address and hobbies until one side asks for them to modify");
+        System.out.println("- Only the touched nested object gets copied; views read without copying");
+        System.out.println("- Ideal for read-mostly snapshots");
+
+        Person snapshot = CodecMetrics.time("clone.copyOnWrite", Person.class, original::copyOnWriteClone);
+        System.out.println("\nSnapshot hobbies (shared, read-only view): " + snapshot.getHobbiesView());
+        snapshot.getAddress().setCity("Tacoma");
+
+        System.out.println("Original city: " + original.getAddressView().getCity());
+        System.out.println("Snapshot city: " + snapshot.getAddressView().getCity());
         System.out.println("\n" + "=".repeat(60) + "\n");
 
         // Summary
@@ -65,6 +107,8 @@ public class DeepCloningTechniques {
         System.out.println("│ Manual Clone   │ ⭐⭐⭐⭐⭐    │ ⭐⭐⭐        │ ⭐⭐⭐⭐      │");
         System.out.println("│ Serialization  │ ⭐⭐⭐        │ ⭐⭐⭐⭐      │ ⭐⭐          │");
         System.out.println("│ JSON-based     │ ⭐⭐          │ ⭐⭐⭐⭐⭐    │ ⭐            │");
+        System.out.println("│ DeepCopier     │ ⭐⭐⭐⭐      │ ⭐⭐⭐⭐⭐    │ ⭐            │");
+        System.out.println("│ Copy-on-write  │ ⭐⭐⭐⭐⭐    │ ⭐⭐          │ ⭐⭐⭐        │");
         System.out.println("└────────────────┴──────────────┴──────────────┴─────────────┘");
         System.out.println("\nRECOMMENDATION:");
         System.out.println("• Use Manual Clone for performance-critical code");
@@ -75,40 +119,39 @@ public class DeepCloningTechniques {
     /**
      * Deep clone using JSON serialization/deserialization
      * This technique converts the object to JSON and back
-     *
-     * EXAMPLE (requires Gson library):
-     *
-     * import com.google.gson.Gson;
-     *
-     * private static Person deepCloneUsingJson(Person original) {
-     *     try {
-     *         Gson gson = new Gson();
-     *         String json = gson.toJson(original);
-     *         return gson.fromJson(json, Person.class);
-     *     } catch (Exception e) {
-     *         System.err.println("JSON cloning failed: " + e.getMessage());
-     *         return null;
-     *     }
-     * }
      */
+    public static Person deepCloneUsingJson(Person original) {
+        try {
+            return CodecMetrics.time("clone.json", Person.class, () -> {
+                Gson gson = JsonCodecs.gson();
+                String json = gson.toJson(original);
+                return gson.fromJson(json, Person.class);
+            });
+        } catch (Exception e) {
+            System.err.println("JSON cloning failed: " + e.getMessage());
+            return null;
+        }
+    }
 
     /**
      * Deep clone using Java Serialization
      * Note: All classes must implement Serializable
      */
     @SuppressWarnings("unchecked")
-    private static <T extends Serializable> T deepCloneUsingSerialization(T original) {
+    public static <T extends Serializable> T deepCloneUsingSerialization(T original) {
         try {
-            // Serialize to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(baos);
-            oos.writeObject(original);
-            oos.close();
-
-            // Deserialize from byte array
-            ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
-            ObjectInputStream ois = new ObjectInputStream(bais);
-            return (T) ois.readObject();
+            return CodecMetrics.time("clone.serialization", original.getClass(), () -> {
+                // Serialize to byte array
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(baos);
+                oos.writeObject(original);
+                oos.close();
+
+                // Deserialize from byte array
+                ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
+                ObjectInputStream ois = new ObjectInputStream(bais);
+                return (T) ois.readObject();
+            });
         } catch (Exception e) {
             System.err.println("Serialization cloning failed: " + e.getMessage());
             return null;
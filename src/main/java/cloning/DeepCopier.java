@@ -0,0 +1,504 @@
+package cloning;
+
+import Instrumentation.CodecMetrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * General purpose deep copy engine - no Cloneable or Serializable needed
+ *
+ * The first copy of a class builds a copier for it - a single method handle tree covering
+ * every field - and caches it in a ClassValue, so later copies do no reflection at all.
+ *
+ * - Immutable values (String, boxed primitives, enums, java.time, ...) are shared
+ * - Arrays, Lists, Sets, Maps, atomics and nested objects are copied recursively;
+ *   collections keep their exact class (see collectionCopier)
+ * - Shared references and cycles are preserved: each object is copied exactly once
+ */
+public final class DeepCopier {
+
+    private static final Copier IMMUTABLE = (original, context) -> original;
+
+    private static final ClassValue<Copier> COPIERS = new ClassValue<>() {
+        @Override
+        protected Copier computeValue(Class<?> type) {
+            return createCopier(type);
+        }
+    };
+
+    private DeepCopier() {
+    }
+
+    /**
+     * Returns a deep copy of the given object graph
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deepCopy(T original) {
+        if (original == null) {
+            return null;
+        }
+        return CodecMetrics.time("clone.deepCopier", original.getClass(), () -> (T) new Context().copy(original));
+    }
+
+    @FunctionalInterface
+    private interface Copier {
+        Object copy(Object original, Context context) throws Throwable;
+    }
+
+    /**
+     * Per-call state: maps every original object to its copy to handle cycles.
+     * Small graphs like Person are tracked in two short arrays scanned by identity;
+     * an IdentityHashMap is only created once a graph has more than a few objects.
+     */
+    private static final class Context {
+        private static final int INLINE_ENTRIES = 8;
+
+        private final Object[] originals = new Object[INLINE_ENTRIES];
+        private final Object[] copies = new Object[INLINE_ENTRIES];
+        private int size;
+        private IdentityHashMap<Object, Object> overflow;
+
+        Object copy(Object original) {
+            if (original == null || original instanceof String) {
+                return original;
+            }
+            Copier copier = COPIERS.get(original.getClass());
+            if (copier == IMMUTABLE) {
+                return original;
+            }
+            Object existing = lookup(original);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                return copier.copy(original, this);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Deep copy failed for " + original.getClass().getName(), e);
+            }
+        }
+
+        private Object lookup(Object original) {
+            for (int i = 0; i < size; i++) {
+                if (originals[i] == original) {
+                    return copies[i];
+                }
+            }
+            return overflow == null ? null : overflow.get(original);
+        }
+
+        void register(Object original, Object copy) {
+            if (size < INLINE_ENTRIES) {
+                originals[size] = original;
+                copies[size++] = copy;
+                return;
+            }
+            if (overflow == null) {
+                overflow = new IdentityHashMap<>();
+            }
+            overflow.put(original, copy);
+        }
+    }
+
+    private static Copier createCopier(Class<?> type) {
+        if (isImmutable(type)) {
+            return IMMUTABLE;
+        }
+        if (type.isArray()) {
+            return arrayCopier(type);
+        }
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            return collectionCopier(type);
+        }
+        Copier atomic = atomicCopier(type);
+        if (atomic != null) {
+            return atomic;
+        }
+        if (isJdkType(type)) {
+            throw new IllegalArgumentException("Cannot deep copy JDK type " + type.getName());
+        }
+        if (type.isRecord()) {
+            return recordCopier(type);
+        }
+        return objectCopier(type);
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive()
+                || type.isEnum()
+                || (type.getSuperclass() != null && type.getSuperclass().isEnum())
+                || type == String.class
+                || type == Boolean.class || type == Character.class
+                || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.lang.")
+                || type == java.math.BigDecimal.class || type == java.math.BigInteger.class
+                || type == UUID.class
+                || type == Class.class
+                || type.getName().startsWith("java.time.");
+    }
+
+    /**
+     * A field can only skip the copy when every value it may hold is immutable: a Number
+     * field may hold an AtomicInteger, so only final immutable field types qualify
+     */
+    private static boolean isImmutableField(Class<?> type) {
+        return isImmutable(type) && (type.isPrimitive() || type.isEnum() || Modifier.isFinal(type.getModifiers()));
+    }
+
+    private static Copier atomicCopier(Class<?> type) {
+        if (type == AtomicInteger.class) {
+            return (original, context) -> register(context, original, new AtomicInteger(((AtomicInteger) original).get()));
+        }
+        if (type == AtomicLong.class) {
+            return (original, context) -> register(context, original, new AtomicLong(((AtomicLong) original).get()));
+        }
+        if (type == AtomicBoolean.class) {
+            return (original, context) -> register(context, original, new AtomicBoolean(((AtomicBoolean) original).get()));
+        }
+        if (type == AtomicReference.class) {
+            return (original, context) -> {
+                AtomicReference<Object> copy = new AtomicReference<>();
+                context.register(original, copy);
+                copy.set(context.copy(((AtomicReference<?>) original).get()));
+                return copy;
+            };
+        }
+        return null;
+    }
+
+    private static Object register(Context context, Object original, Object copy) {
+        context.register(original, copy);
+        return copy;
+    }
+
+    private static Copier arrayCopier(Class<?> type) {
+        Class<?> component = type.getComponentType();
+        if (component.isPrimitive()) {
+            return (original, context) -> {
+                int length = Array.getLength(original);
+                Object copy = Array.newInstance(component, length);
+                System.arraycopy(original, 0, copy, 0, length);
+                context.register(original, copy);
+                return copy;
+            };
+        }
+        return (original, context) -> {
+            Object[] source = (Object[]) original;
+            Object[] copy = (Object[]) Array.newInstance(component, source.length);
+            context.register(original, copy);
+            for (int i = 0; i < source.length; i++) {
+                copy[i] = context.copy(source[i]);
+            }
+            return copy;
+        };
+    }
+
+    /**
+     * JDK collections cannot be copied field by field, so they are rebuilt through their
+     * public API as the same class: an empty instance (keeping the comparator of sorted ones
+     * and the key type of an EnumMap) filled with copies of the elements. A collection class
+     * of the application additionally gets its own fields copied. List.of/Set.of/Map.of and
+     * Arrays.asList are rebuilt the same way; any other JDK collection without a public
+     * no-arg constructor (unmodifiable or synchronized wrappers, ...) is rejected
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Copier collectionCopier(Class<?> type) {
+        if (type == ArrayList.class) {
+            // the common case (Person.hobbies): indexed copy into a presized list
+            return (original, context) -> {
+                ArrayList<Object> source = (ArrayList<Object>) original;
+                int size = source.size();
+                ArrayList<Object> copy = new ArrayList<>(size);
+                context.register(original, copy);
+                for (int i = 0; i < size; i++) {
+                    copy.add(context.copy(source.get(i)));
+                }
+                return copy;
+            };
+        }
+        String name = type.getName();
+        if (name.startsWith("java.util.Collections$Empty")) {
+            return IMMUTABLE;
+        }
+        if (name.startsWith("java.util.ImmutableCollections$") || name.equals("java.util.Arrays$ArrayList")) {
+            return immutableCollectionCopier(type);
+        }
+        Function<Object, Object> factory = emptyCopyFactory(type);
+        // for a subclass defined by the application, its own fields on top of the JDK collection
+        MethodHandle ownFields = isJdkType(type) ? null : fieldCopier(type, true);
+        if (Map.class.isAssignableFrom(type)) {
+            return (original, context) -> {
+                Map<Object, Object> copy = (Map<Object, Object>) factory.apply(original);
+                context.register(original, copy);
+                if (ownFields != null) {
+                    ownFields.invokeExact((Object) copy, original, context);
+                }
+                for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) original).entrySet()) {
+                    copy.put(context.copy(entry.getKey()), context.copy(entry.getValue()));
+                }
+                return copy;
+            };
+        }
+        return (original, context) -> {
+            Collection<Object> copy = (Collection<Object>) factory.apply(original);
+            context.register(original, copy);
+            if (ownFields != null) {
+                ownFields.invokeExact((Object) copy, original, context);
+            }
+            for (Object element : (Collection<Object>) original) {
+                copy.add(context.copy(element));
+            }
+            return copy;
+        };
+    }
+
+    /**
+     * Creates an empty instance of exactly {@code type} for a source of that type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> emptyCopyFactory(Class<?> type) {
+        if (type == HashMap.class) {
+            return source -> new HashMap<>(capacity(((Map<?, ?>) source).size()));
+        }
+        if (type == LinkedHashMap.class) {
+            return source -> new LinkedHashMap<>(capacity(((Map<?, ?>) source).size()));
+        }
+        if (type == HashSet.class) {
+            return source -> new HashSet<>(capacity(((Set<?>) source).size()));
+        }
+        if (type == LinkedHashSet.class) {
+            return source -> new LinkedHashSet<>(capacity(((Set<?>) source).size()));
+        }
+        if (type == TreeMap.class) {
+            return source -> new TreeMap<>(((SortedMap) source).comparator());
+        }
+        if (type == TreeSet.class) {
+            return source -> new TreeSet<>(((SortedSet) source).comparator());
+        }
+        if (type == ArrayDeque.class) {
+            return source -> new ArrayDeque<>(((Collection<?>) source).size());
+        }
+        if (type == PriorityQueue.class) {
+            return source -> new PriorityQueue<>(Math.max(1, ((Collection<?>) source).size()), ((PriorityQueue) source).comparator());
+        }
+        if (type == PriorityBlockingQueue.class) {
+            return source -> new PriorityBlockingQueue<>(Math.max(1, ((Collection<?>) source).size()), ((PriorityBlockingQueue) source).comparator());
+        }
+        if (type == EnumMap.class) {
+            return source -> {
+                EnumMap copy = new EnumMap((EnumMap) source);
+                copy.clear();
+                return copy;
+            };
+        }
+        if (EnumSet.class.isAssignableFrom(type)) {
+            return source -> {
+                EnumSet copy = ((EnumSet) source).clone();
+                copy.clear();
+                return copy;
+            };
+        }
+        try {
+            if (SortedMap.class.isAssignableFrom(type) || SortedSet.class.isAssignableFrom(type)) {
+                // e.g. ConcurrentSkipListMap: keep the ordering of the source
+                MethodHandle withComparator = MethodHandles.publicLookup()
+                        .findConstructor(type, MethodType.methodType(void.class, Comparator.class))
+                        .asType(MethodType.methodType(Object.class, Comparator.class));
+                return source -> invoke(withComparator, source instanceof SortedMap
+                        ? ((SortedMap) source).comparator() : ((SortedSet) source).comparator());
+            }
+            MethodHandle noArgs = MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return source -> invoke(noArgs, null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot deep copy collection " + type.getName()
+                    + ": it has no public constructor to rebuild it with", e);
+        }
+    }
+
+    private static Object invoke(MethodHandle constructor, Comparator<?> comparator) {
+        try {
+            return constructor.type().parameterCount() == 0 ? (Object) constructor.invokeExact()
+                    : (Object) constructor.invokeExact(comparator);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create " + constructor.type().returnType().getName(), e);
+        }
+    }
+
+    /**
+     * List.of/Set.of/Map.of and Arrays.asList: copies the elements first, then builds the same
+     * kind of collection. Like records they cannot take part in a cycle.
+     */
+    @SuppressWarnings("unchecked")
+    private static Copier immutableCollectionCopier(Class<?> type) {
+        if (Map.class.isAssignableFrom(type)) {
+            return (original, context) -> {
+                Map<Object, Object> source = (Map<Object, Object>) original;
+                Map<Object, Object> elements = new LinkedHashMap<>(capacity(source.size()));
+                for (Map.Entry<Object, Object> entry : source.entrySet()) {
+                    elements.put(context.copy(entry.getKey()), context.copy(entry.getValue()));
+                }
+                return register(context, original, Map.copyOf(elements));
+            };
+        }
+        boolean arraysAsList = type.getName().equals("java.util.Arrays$ArrayList");
+        boolean set = Set.class.isAssignableFrom(type);
+        return (original, context) -> {
+            Collection<Object> source = (Collection<Object>) original;
+            Object[] elements = new Object[source.size()];
+            int i = 0;
+            for (Object element : source) {
+                elements[i++] = context.copy(element);
+            }
+            Object copy = arraysAsList ? Arrays.asList(elements) : set ? Set.of(elements) : List.of(elements);
+            return register(context, original, copy);
+        };
+    }
+
+    private static int capacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        return type.getName().startsWith("java.") || type.getName().startsWith("javax.");
+    }
+
+    private static Copier recordCopier(Class<?> type) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            RecordComponent[] components = type.getRecordComponents();
+            MethodHandle[] accessors = new MethodHandle[components.length];
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i].getAccessor().setAccessible(true);
+                accessors[i] = lookup.unreflect(components[i].getAccessor()).asType(MethodType.methodType(Object.class, Object.class));
+                parameterTypes[i] = components[i].getType();
+            }
+            Constructor<?> canonical = type.getDeclaredConstructor(parameterTypes);
+            canonical.setAccessible(true);
+            MethodHandle constructor = lookup.unreflectConstructor(canonical)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return (original, context) -> {
+                // record components are final, so cycles through a record cannot be rebuilt
+                Object[] arguments = new Object[accessors.length];
+                for (int i = 0; i < accessors.length; i++) {
+                    arguments[i] = context.copy((Object) accessors[i].invokeExact(original));
+                }
+                Object copy = (Object) constructor.invokeExact(arguments);
+                context.register(original, copy);
+                return copy;
+            };
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot build copier for record " + type.getName(), e);
+        }
+    }
+
+    private static Copier objectCopier(Class<?> type) {
+        MethodHandle instantiator = instantiator(type);
+        MethodHandle copyFields = fieldCopier(type, false);
+        return (original, context) -> {
+            Object copy = (Object) instantiator.invokeExact();
+            context.register(original, copy);
+            copyFields.invokeExact(copy, original, context);
+            return copy;
+        };
+    }
+
+    /**
+     * Builds one method handle tree copying all fields of the class: (copy, original, context) -> void.
+     * Immutable fields become copy.f = original.f, the others copy.f = context.copy(original.f).
+     * Being a single handle, the JIT compiles and inlines the whole field sequence together.
+     * With {@code ownOnly}, fields declared by JDK superclasses are left to the caller.
+     */
+    private static MethodHandle fieldCopier(Class<?> type, boolean ownOnly) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType stepType = MethodType.methodType(void.class, Object.class, Object.class, Context.class);
+            MethodHandle contextCopy = lookup.findVirtual(Context.class, "copy", MethodType.methodType(Object.class, Object.class));
+            List<MethodHandle> steps = new ArrayList<>();
+            for (Class<?> current = type; current != Object.class && !(ownOnly && isJdkType(current)); current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    MethodHandle getter = lookup.unreflectGetter(field);
+                    MethodHandle setter = lookup.unreflectSetter(field);
+                    if (isImmutableField(field.getType())) {
+                        MethodHandle copy = MethodHandles.collectArguments(setter, 1, getter)
+                                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                        steps.add(MethodHandles.dropArguments(copy, 2, Context.class));
+                    } else {
+                        MethodHandle copiedValue = MethodHandles.filterArguments(contextCopy, 1,
+                                getter.asType(MethodType.methodType(Object.class, Object.class)));
+                        MethodHandle copy = MethodHandles.collectArguments(
+                                setter.asType(MethodType.methodType(void.class, Object.class, Object.class)), 1, copiedValue);
+                        steps.add(MethodHandles.permuteArguments(copy, stepType, 0, 2, 1));
+                    }
+                }
+            }
+            MethodHandle fields = MethodHandles.empty(stepType);
+            for (int i = steps.size() - 1; i >= 0; i--) {
+                fields = MethodHandles.foldArguments(fields, steps.get(i));
+            }
+            return fields;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot build copier for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * The no-arg constructor, which may be private (Person and Address keep one for this);
+     * DeepCopier sets every field itself afterwards
+     */
+    private static MethodHandle instantiator(Class<?> type) {
+        try {
+            Constructor<?> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot deep copy " + type.getName()
+                    + ": it needs a no-argument constructor (it may be private)", e);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot build copier for " + type.getName(), e);
+        }
+    }
+}
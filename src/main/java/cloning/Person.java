@@ -1,13 +1,19 @@
 package cloning;
 
+
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Person class - demonstrates shallow vs deep cloning
  * Contains both primitive types and reference types (nested objects)
  */
-public class Person implements Cloneable {
+public class Person implements Cloneable, Serializable {
+    private static final long serialVersionUID = 1L;
+
     // Primitive type - always copied by value
     private String name;
     private int age;
@@ -18,6 +24,15 @@ public class Person implements Cloneable {
     // Collection - another reference type
     private List<String> hobbies;
 
+    // Copy-on-write state - true while the nested object is still shared with another Person;
+    // read and written only while holding this Person's lock
+    private transient boolean addressShared;
+    private transient boolean hobbiesShared;
+
+    // For DeepCopier, which sets every field itself
+    private Person() {
+    }
+
     public Person(String name, int age, Address address, List<String> hobbies) {
         this.name = name;
         this.age = age;
@@ -42,20 +57,70 @@ public class Person implements Cloneable {
         this.age = age;
     }
 
-    public Address getAddress() {
+    /**
+     * The returned Address may be modified by the caller, so a shared one is copied first;
+     * use {@link #getAddressView} to read without copying
+     */
+    public synchronized Address getAddress() {
+        if (addressShared) {
+            address = address.clone();
+            addressShared = false;
+        }
         return address;
     }
 
-    public void setAddress(Address address) {
+    /**
+     * Read-only view of the address - never copies, even when the address is shared
+     */
+    public synchronized AddressView getAddressView() {
+        return address;
+    }
+
+    public synchronized void setAddress(Address address) {
         this.address = address;
+        this.addressShared = false;
     }
 
-    public List<String> getHobbies() {
+    /**
+     * Applies {@code change} to this person's own Address, copying a shared one first
+     */
+    public synchronized void updateAddress(Consumer<? super Address> change) {
+        change.accept(getAddress());
+    }
+
+    /**
+     * The returned list may be modified by the caller, so a shared one is copied first;
+     * use {@link #getHobbiesView} to read without copying
+     */
+    public synchronized List<String> getHobbies() {
+        if (hobbiesShared) {
+            hobbies = new ArrayList<>(hobbies);
+            hobbiesShared = false;
+        }
         return hobbies;
     }
 
-    public void setHobbies(List<String> hobbies) {
+    /**
+     * Read-only view of the hobbies - never copies, even when the list is shared
+     */
+    public synchronized List<String> getHobbiesView() {
+        return hobbies == null ? null : Collections.unmodifiableList(hobbies);
+    }
+
+    public synchronized void setHobbies(List<String> hobbies) {
         this.hobbies = hobbies;
+        this.hobbiesShared = false;
+    }
+
+    public synchronized void addHobby(String hobby) {
+        if (hobbies == null) {
+            hobbies = new ArrayList<>();
+        }
+        getHobbies().add(hobby);
+    }
+
+    public synchronized boolean removeHobby(String hobby) {
+        return hobbies != null && getHobbies().remove(hobby);
     }
 
     /**
@@ -64,10 +129,14 @@ public class Person implements Cloneable {
      * - Reference fields (address, hobbies) are copied by reference
      * - Changes to nested objects affect both original and clone
      */
-    public Person shallowClone() {
+    public synchronized Person shallowClone() {
         try {
             // super.clone() performs a shallow copy
-            return (Person) super.clone();
+            Person cloned = (Person) super.clone();
+            // a plain shallow clone shares by design, it does not copy on write
+            cloned.addressShared = false;
+            cloned.hobbiesShared = false;
+            return cloned;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Clone not supported", e);
         }
@@ -79,26 +148,45 @@ public class Person implements Cloneable {
      * - Reference fields are recursively cloned
      * - Changes to nested objects do NOT affect the original
      */
-    public Person deepClone() {
+    public synchronized Person deepClone() {
         try {
             // First perform shallow clone
             Person cloned = (Person) super.clone();
-            
+
             // Then manually clone all reference types
             if (this.address != null) {
                 cloned.address = this.address.clone();
             }
-            
+
             if (this.hobbies != null) {
                 cloned.hobbies = new ArrayList<>(this.hobbies);
             }
-            
+
+            // the clone owns its copies, nothing is shared any more
+            cloned.addressShared = false;
+            cloned.hobbiesShared = false;
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Clone not supported", e);
         }
     }
 
+    /**
+     * COPY-ON-WRITE CLONE - Shares nested objects until one side touches them
+     * - Cloning costs the same as a shallow clone: address and hobbies are NOT copied
+     * - Both original and clone mark them as shared
+     * - The first getAddress()/getHobbies() (or mutator) on either side copies only that object,
+     *   so changes made through them stay isolated, as with a deep clone
+     * - getAddressView()/getHobbiesView() never copy: use them for reads
+     * - References obtained before cloning still point at the shared objects
+     */
+    public synchronized Person copyOnWriteClone() {
+        Person cloned = shallowClone();
+        this.addressShared = cloned.addressShared = this.address != null;
+        this.hobbiesShared = cloned.hobbiesShared = this.hobbies != null;
+        return cloned;
+    }
+
     @Override
     public String toString() {
         return "Person{" +
@@ -0,0 +1,21 @@
+package codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asks {@link GeneratedCodecProcessor} to generate a streaming {@link JsonCodec} for the DTO.
+ * <p>
+ * Every non-static, non-transient field is a property. Its JSON name is the one Jackson derives
+ * from the getter ({@code getName()} is "name"), or the value of {@code @JsonProperty} on the
+ * field. Properties are read through setters and written through getters, falling back to the
+ * field when it is not private; Lombok's {@code @Data}, {@code @Getter} and {@code @Setter} count
+ * as declaring the accessors Lombok generates. A class without a no-argument constructor and
+ * setters is built through a constructor taking every property in declaration order.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GeneratedCodec {
+}
@@ -0,0 +1,469 @@
+package codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code <Type>JsonCodec} next to every {@link GeneratedCodec} class and lists them
+ * in {@code META-INF/services/codegen.JsonCodec} for {@link GeneratedCodecs}.
+ * <p>
+ * Field names are pre-encoded {@code SerializedString}s. The generated reader matches them
+ * against the input bytes while fields arrive in declaration order, and otherwise switches on
+ * the name Jackson hands out (canonicalized, so its hash is computed once); the writer emits
+ * them without escaping. This class runs inside javac, so it is compiled in a separate step
+ * before the rest of the sources, see the compiler executions in the pom.
+ */
+public class GeneratedCodecProcessor extends AbstractProcessor {
+    private static final String SERVICE_FILE = "META-INF/services/" + JsonCodec.class.getName();
+
+    private final Set<String> generated = new TreeSet<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GeneratedCodec.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(GeneratedCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@GeneratedCodec only applies to classes", element);
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Could not write codec: " + e.getMessage(), element);
+            }
+        }
+        if (round.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            Property property = property(type, field);
+            if (property == null) {
+                return;
+            }
+            properties.add(property);
+        }
+        boolean viaSetters = hasNoArgConstructor(type) && properties.stream().allMatch(p -> p.setter != null);
+        if (!viaSetters && !hasAllPropertiesConstructor(type, properties)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@GeneratedCodec needs a no-argument constructor with a setter"
+                    + " (or non-private field) per property, or a constructor taking every property in order", type);
+            return;
+        }
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String simpleName = type.getSimpleName().toString();
+        String codecName = simpleName + "JsonCodec";
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        JavaFileObject source = filer.createSourceFile(qualifiedName, type);
+        try (PrintWriter out = new PrintWriter(source.openWriter())) {
+            writeCodec(out, packageName, simpleName, codecName, properties, viaSetters);
+        }
+        generated.add(qualifiedName);
+    }
+
+    private Property property(TypeElement type, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        Kind kind = kind(field.asType());
+        if (kind == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unsupported property type " + field.asType()
+                    + "; generated codecs handle int, long, double, boolean, their wrappers and String", field);
+            return null;
+        }
+        boolean privateField = field.getModifiers().contains(Modifier.PRIVATE);
+        boolean finalField = field.getModifiers().contains(Modifier.FINAL);
+        String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+
+        // Lombok keeps a boolean "isActive" as isActive()/setActive()
+        boolean isPrefixed = fieldName.length() > 2 && fieldName.startsWith("is") && Character.isUpperCase(fieldName.charAt(2));
+        String getterName = kind != Kind.BOOLEAN ? "get" + capitalized : isPrefixed ? fieldName : "is" + capitalized;
+        String getter = null;
+        if (hasMethod(type, getterName, 0) || lombok(type, field, "Getter")) {
+            getter = getterName + "()";
+        } else if (hasMethod(type, "get" + capitalized, 0)) {
+            getterName = "get" + capitalized;
+            getter = getterName + "()";
+        } else if (!privateField) {
+            getter = fieldName;
+        }
+        if (getter == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "No getter for " + fieldName, field);
+            return null;
+        }
+
+        String setterName = kind == Kind.BOOLEAN && getterName.equals(fieldName)
+                ? "set" + fieldName.substring(2) : "set" + capitalized;
+        String setter = null;
+        if (hasMethod(type, setterName, 1) || (!finalField && lombok(type, field, "Setter"))) {
+            setter = setterName;
+        } else if (!privateField && !finalField) {
+            setter = "=" + fieldName;
+        }
+
+        String jsonName = jsonProperty(field);
+        if (jsonName == null) {
+            jsonName = getter.endsWith("()") ? jacksonName(getterName) : fieldName;
+        }
+        return new Property(jsonName, field.asType(), kind, getter, setter);
+    }
+
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case DECLARED:
+                switch (((TypeElement) types.asElement(type)).getQualifiedName().toString()) {
+                    case "java.lang.String":
+                        return Kind.STRING;
+                    case "java.lang.Integer":
+                        return Kind.INTEGER;
+                    case "java.lang.Long":
+                        return Kind.LONG_OBJECT;
+                    case "java.lang.Double":
+                        return Kind.DOUBLE_OBJECT;
+                    case "java.lang.Boolean":
+                        return Kind.BOOLEAN_OBJECT;
+                    default:
+                        return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private boolean hasMethod(TypeElement type, String name, int parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                    && !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lombok runs in the same compilation and its accessors may not exist yet, so its annotations count
+    private boolean lombok(TypeElement type, VariableElement field, String accessor) {
+        return annotated(type, "lombok.Data") || annotated(type, "lombok." + accessor) || annotated(field, "lombok." + accessor)
+                || (accessor.equals("Getter") && annotated(type, "lombok.Value"));
+    }
+
+    private boolean hasNoArgConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        if (annotated(type, "lombok.NoArgsConstructor")) {
+            return true;
+        }
+        // the default constructor, unless Lombok is asked for one with arguments
+        return constructors.isEmpty() && !annotated(type, "lombok.AllArgsConstructor")
+                && !annotated(type, "lombok.RequiredArgsConstructor") && !annotated(type, "lombok.Value");
+    }
+
+    private boolean hasAllPropertiesConstructor(TypeElement type, List<Property> properties) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE) || constructor.getParameters().size() != properties.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < properties.size() && matches; i++) {
+                matches = types.isSameType(constructor.getParameters().get(i).asType(), properties.get(i).type);
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        // Lombok's constructor takes every non-static field in declaration order
+        return annotated(type, "lombok.AllArgsConstructor") || annotated(type, "lombok.Value");
+    }
+
+    private static boolean annotated(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String jsonProperty(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals("com.fasterxml.jackson.annotation.JsonProperty")) {
+                for (var entry : mirror.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value")) {
+                        String value = (String) ((AnnotationValue) entry.getValue()).getValue();
+                        return value.isEmpty() ? null : value;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // Jackson's default naming: strip get/is and lower-case the leading capitals ("getURL" is "url")
+    private static String jacksonName(String getter) {
+        String name = getter.substring(getter.startsWith("is") ? 2 : 3);
+        int upper = 0;
+        while (upper < name.length() && Character.isUpperCase(name.charAt(upper))) {
+            upper++;
+        }
+        return name.substring(0, upper).toLowerCase(Locale.ROOT) + name.substring(upper);
+    }
+
+    private void writeCodec(PrintWriter out, String packageName, String type, String codec,
+                            List<Property> properties, boolean viaSetters) {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("import codegen.CodecSupport;");
+        out.println("import codegen.JsonCodec;");
+        out.println("import com.fasterxml.jackson.core.JsonGenerator;");
+        out.println("import com.fasterxml.jackson.core.JsonParser;");
+        out.println("import com.fasterxml.jackson.core.JsonToken;");
+        out.println("import com.fasterxml.jackson.core.io.SerializedString;");
+        out.println();
+        out.println("import java.io.IOException;");
+        out.println();
+        out.println("/**");
+        out.println(" * Streaming JSON codec for {@link " + type + "}, generated by codegen.GeneratedCodecProcessor.");
+        out.println(" */");
+        out.println("@javax.annotation.processing.Generated(\"codegen.GeneratedCodecProcessor\")");
+        out.println("public final class " + codec + " implements JsonCodec<" + type + "> {");
+        for (int i = 0; i < properties.size(); i++) {
+            out.println("    private static final SerializedString NAME_" + i + " = new SerializedString(" + literal(properties.get(i).jsonName) + ");");
+        }
+        out.println();
+        out.println("    @Override");
+        out.println("    public Class<" + type + "> type() {");
+        out.println("        return " + type + ".class;");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + type + " read(JsonParser parser, UnknownField unknown) throws IOException {");
+        out.println("        JsonToken token = CodecSupport.startObject(parser, " + type + ".class);");
+        out.println("        if (token == JsonToken.VALUE_NULL) {");
+        out.println("            return null;");
+        out.println("        }");
+        if (viaSetters) {
+            out.println("        " + type + " value = new " + type + "();");
+        } else {
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                out.println("        " + property.kind.type + " p" + i + " = " + property.kind.initial + ";");
+            }
+        }
+        // fast path while the fields come in declaration order: match the pre-encoded names
+        out.println("        String name;");
+        out.println("        ordered:");
+        out.println("        {");
+        out.println("            if (token != JsonToken.START_OBJECT) {");
+        out.println("                name = CodecSupport.fieldName(parser);");
+        out.println("                break ordered;");
+        out.println("            }");
+        for (int i = 0; i < properties.size(); i++) {
+            out.println("            if (!parser.nextFieldName(NAME_" + i + ")) {");
+            out.println("                name = CodecSupport.fieldName(parser);");
+            out.println("                break ordered;");
+            out.println("            }");
+            out.println("            parser.nextToken();");
+            out.println("            " + assignment(properties.get(i), i, viaSetters));
+        }
+        out.println("            name = parser.nextFieldName();");
+        out.println("        }");
+        out.println("        for (; name != null; name = parser.nextFieldName()) {");
+        out.println("            parser.nextToken();");
+        out.println("            switch (name) {");
+        for (int i = 0; i < properties.size(); i++) {
+            out.println("                case " + literal(properties.get(i).jsonName) + ":");
+            out.println("                    " + assignment(properties.get(i), i, viaSetters));
+            out.println("                    break;");
+        }
+        out.println("                default:");
+        out.println("                    unknown.handle(parser, name);");
+        out.println("            }");
+        out.println("        }");
+        out.println("        CodecSupport.endObject(parser, " + type + ".class);");
+        if (viaSetters) {
+            out.println("        return value;");
+        } else {
+            StringBuilder arguments = new StringBuilder();
+            for (int i = 0; i < properties.size(); i++) {
+                arguments.append(i == 0 ? "" : ", ").append('p').append(i);
+            }
+            out.println("        return new " + type + "(" + arguments + ");");
+        }
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public void write(" + type + " value, JsonGenerator generator) throws IOException {");
+        out.println("        if (value == null) {");
+        out.println("            generator.writeNull();");
+        out.println("            return;");
+        out.println("        }");
+        out.println("        generator.writeStartObject(value);");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.println("        generator.writeFieldName(NAME_" + i + ");");
+            out.println("        " + String.format(property.kind.write, "value." + property.getter) + ";");
+        }
+        out.println("        generator.writeEndObject();");
+        out.println("    }");
+        out.println("}");
+    }
+
+    private static String assignment(Property property, int index, boolean viaSetters) {
+        String read = "CodecSupport." + property.kind.read + "(parser)";
+        if (!viaSetters) {
+            return "p" + index + " = " + read + ";";
+        }
+        if (property.setter.startsWith("=")) {
+            return "value." + property.setter.substring(1) + " = " + read + ";";
+        }
+        return "value." + property.setter + "(" + read + ");";
+    }
+
+    private static String literal(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    // Keeps the codecs of classes not recompiled in this (incremental) build
+    private void writeServiceFile() {
+        Set<String> entries = new TreeSet<>(generated);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank() && !line.startsWith("#")) {
+                        entries.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no earlier service file
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (FilerException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Service file already written: " + e.getMessage());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private enum Kind {
+        INT("int", "readInt", "generator.writeNumber(%s)", "0"),
+        LONG("long", "readLong", "generator.writeNumber(%s)", "0L"),
+        DOUBLE("double", "readDouble", "generator.writeNumber(%s)", "0.0"),
+        BOOLEAN("boolean", "readBoolean", "generator.writeBoolean(%s)", "false"),
+        STRING("String", "readString", "generator.writeString(%s)", "null"),
+        INTEGER("Integer", "readInteger", "CodecSupport.writeInteger(generator, %s)", "null"),
+        LONG_OBJECT("Long", "readLongObject", "CodecSupport.writeLongObject(generator, %s)", "null"),
+        DOUBLE_OBJECT("Double", "readDoubleObject", "CodecSupport.writeDoubleObject(generator, %s)", "null"),
+        BOOLEAN_OBJECT("Boolean", "readBooleanObject", "CodecSupport.writeBooleanObject(generator, %s)", "null");
+
+        final String type;
+        final String read;
+        final String write;
+        final String initial;
+
+        Kind(String type, String read, String write, String initial) {
+            this.type = type;
+            this.read = read;
+            this.write = write;
+            this.initial = initial;
+        }
+    }
+
+    private static final class Property {
+        final String jsonName;
+        final TypeMirror type;
+        final Kind kind;
+        // "getX()" or a field name
+        final String getter;
+        // a setter name, "=field" for direct assignment, or null
+        final String setter;
+
+        Property(String jsonName, TypeMirror type, Kind kind, String getter, String setter) {
+            this.jsonName = jsonName;
+            this.type = type;
+            this.kind = kind;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
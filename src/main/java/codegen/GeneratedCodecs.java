@@ -0,0 +1,301 @@
+package codegen;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.type.LogicalType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The generated codecs on the classpath, loaded once through {@link ServiceLoader}.
+ * {@link #module()} adapts them to Jackson so that every ObjectMapper registering it binds the
+ * generated types without building a reflective bean (de)serializer; JsonCodecs registers it
+ * on all of its profiles.
+ * <p>
+ * The codecs only cover a plain object under settings they reproduce, so the module keeps the
+ * result identical to Jackson's bean binding by handing everything else to the bean
+ * (de)serializer, which is built on first use:
+ * <ul>
+ * <li>reading anything but an object (an array under ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT or
+ * UNWRAP_SINGLE_VALUE_ARRAYS, a string under ACCEPT_EMPTY_STRING_AS_NULL_OBJECT), updating an
+ * existing instance ({@code readerForUpdating}) and polymorphic type ids;</li>
+ * <li>reading with FAIL_ON_NULL_FOR_PRIMITIVES or without ACCEPT_FLOAT_AS_INT, and writing
+ * with an active view;</li>
+ * <li>properties annotated with @JsonFormat, @JsonIgnoreProperties, @JsonIncludeProperties or
+ * @JsonUnwrapped that refer to a generated type.</li>
+ * </ul>
+ * Mappers with a naming strategy, a mix-in for the type, case-insensitive properties or scalar
+ * coercion disabled do not use the codecs at all, nor do reads of a type with class-level
+ * ignorals or writes whose default inclusion is not ALWAYS (NON_NULL, say). Unknown fields
+ * are handed back to Jackson, so each profile's FAIL_ON_UNKNOWN_PROPERTIES setting still applies.
+ */
+public final class GeneratedCodecs {
+    private static final Map<Class<?>, JsonCodec<?>> CODECS = load();
+
+    private GeneratedCodecs() {
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Map<Class<?>, JsonCodec<?>> load() {
+        Map<Class<?>, JsonCodec<?>> codecs = new LinkedHashMap<>();
+        for (JsonCodec codec : ServiceLoader.load(JsonCodec.class, GeneratedCodecs.class.getClassLoader())) {
+            codecs.put(codec.type(), codec);
+        }
+        return Collections.unmodifiableMap(codecs);
+    }
+
+    /**
+     * The generated codec for {@code type}, or null if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> forType(Class<T> type) {
+        return (JsonCodec<T>) CODECS.get(type);
+    }
+
+    public static Collection<JsonCodec<?>> all() {
+        return CODECS.values();
+    }
+
+    public static Module module() {
+        return new CodecModule();
+    }
+
+    // Settings the codecs cannot reproduce for any read or write of the type
+    private static boolean supports(MapperConfig<?> config, Class<?> type) {
+        return config.getPropertyNamingStrategy() == null
+                && config.findMixInClassFor(type) == null
+                && !config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                && config.isEnabled(MapperFeature.ALLOW_COERCION_OF_SCALARS);
+    }
+
+    // Annotations on a referring property that change how the referred bean is bound
+    private static boolean customizes(BeanProperty property) {
+        return property != null && (property.getAnnotation(JsonFormat.class) != null
+                || property.getAnnotation(JsonIgnoreProperties.class) != null
+                || property.getAnnotation(JsonIncludeProperties.class) != null
+                || property.getAnnotation(JsonUnwrapped.class) != null);
+    }
+
+    private static boolean includesAll(JsonInclude.Value inclusion) {
+        JsonInclude.Include include = inclusion.getValueInclusion();
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    // Adds fresh (de)serializer lookups to every mapper, so the lazily built bean fallbacks are per mapper
+    private static final class CodecModule extends Module {
+        @Override
+        public String getModuleName() {
+            return "GeneratedCodecs";
+        }
+
+        @Override
+        public Version version() {
+            return Version.unknownVersion();
+        }
+
+        @Override
+        public void setupModule(SetupContext context) {
+            context.addDeserializers(new Deserializers.Base() {
+                @Override
+                public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config,
+                                                                BeanDescription beanDesc) {
+                    JsonCodec<?> codec = CODECS.get(type.getRawClass());
+                    if (codec == null || !supports(config, type.getRawClass())
+                            || !config.getDefaultPropertyIgnorals(type.getRawClass(), beanDesc.getClassInfo())
+                            .equals(JsonIgnoreProperties.Value.empty())) {
+                        return null;
+                    }
+                    return new CodecDeserializer<>(codec);
+                }
+            });
+            context.addSerializers(new Serializers.Base() {
+                @Override
+                public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type,
+                                                        BeanDescription beanDesc) {
+                    JsonCodec<?> codec = CODECS.get(type.getRawClass());
+                    if (codec == null || !supports(config, type.getRawClass()) || !includesAll(
+                            beanDesc.findPropertyInclusion(config.getDefaultPropertyInclusion(type.getRawClass())))) {
+                        return null;
+                    }
+                    return new CodecSerializer<>(codec);
+                }
+            });
+        }
+    }
+
+    private static final class CodecDeserializer<T> extends JsonDeserializer<T> implements ContextualDeserializer {
+        private final JsonCodec<T> codec;
+        // Jackson's own deserializer for whatever the codec does not handle; built on first use
+        private volatile JsonDeserializer<Object> bean;
+
+        CodecDeserializer(JsonCodec<T> codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if ((token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT)
+                    && !context.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                    && context.isEnabled(DeserializationFeature.ACCEPT_FLOAT_AS_INT)) {
+                return codec.read(parser, (p, name) -> context.handleUnknownProperty(p,
+                        // the bean deserializer lists the known properties in the error
+                        context.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) ? bean(context) : this,
+                        codec.type(), name));
+            }
+            return codec.type().cast(bean(context).deserialize(parser, context));
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context, T intoValue) throws IOException {
+            return codec.type().cast(bean(context).deserialize(parser, context, intoValue));
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser parser, DeserializationContext context,
+                                          TypeDeserializer typeDeserializer) throws IOException {
+            return bean(context).deserializeWithType(parser, context, typeDeserializer);
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext context, BeanProperty property)
+                throws JsonMappingException {
+            if (!customizes(property)) {
+                return this;
+            }
+            JsonDeserializer<Object> deserializer = bean(context);
+            return deserializer instanceof ContextualDeserializer
+                    ? ((ContextualDeserializer) deserializer).createContextual(context, property)
+                    : deserializer;
+        }
+
+        @SuppressWarnings("unchecked")
+        private JsonDeserializer<Object> bean(DeserializationContext context) throws JsonMappingException {
+            JsonDeserializer<Object> deserializer = bean;
+            if (deserializer == null) {
+                // built by the factory directly, as the mapper's lookup would find this deserializer again
+                JavaType type = context.constructType(codec.type());
+                BeanDeserializerFactory factory = context.getFactory() instanceof BeanDeserializerFactory
+                        ? (BeanDeserializerFactory) context.getFactory() : BeanDeserializerFactory.instance;
+                deserializer = factory.buildBeanDeserializer(context, type, context.getConfig().introspect(type));
+                if (deserializer instanceof ResolvableDeserializer) {
+                    ((ResolvableDeserializer) deserializer).resolve(context);
+                }
+                deserializer = (JsonDeserializer<Object>) context.handleSecondaryContextualization(deserializer, null, type);
+                bean = deserializer;
+            }
+            return deserializer;
+        }
+
+        @Override
+        public boolean isCachable() {
+            return true;
+        }
+
+        @Override
+        public LogicalType logicalType() {
+            return LogicalType.POJO;
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return codec.type();
+        }
+    }
+
+    private static final class CodecSerializer<T> extends JsonSerializer<T> implements ContextualSerializer {
+        private final JsonCodec<T> codec;
+        // Jackson's own serializer for views and type ids; built on first use
+        private volatile JsonSerializer<Object> bean;
+
+        CodecSerializer(JsonCodec<T> codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (provider.getActiveView() == null) {
+                codec.write(value, generator);
+            } else {
+                bean(provider).serialize(value, generator, provider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(T value, JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            bean(provider).serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (!customizes(property)) {
+                return this;
+            }
+            JsonSerializer<Object> serializer = bean(provider);
+            return serializer instanceof ContextualSerializer
+                    ? ((ContextualSerializer) serializer).createContextual(provider, property)
+                    : serializer;
+        }
+
+        @SuppressWarnings("unchecked")
+        private JsonSerializer<Object> bean(SerializerProvider provider) throws JsonMappingException {
+            JsonSerializer<Object> serializer = bean;
+            if (serializer == null) {
+                // the provider does not expose the mapper's factory, so serializer modifiers of
+                // other modules are not applied to this fallback
+                JavaType type = provider.constructType(codec.type());
+                serializer = BeanSerializerFactory.instance.findBeanOrAddOnSerializer(provider, type,
+                        provider.getConfig().introspect(type), false);
+                if (serializer instanceof ResolvableSerializer) {
+                    ((ResolvableSerializer) serializer).resolve(provider);
+                }
+                serializer = (JsonSerializer<Object>) provider.handleSecondaryContextualization(serializer, null);
+                bean = serializer;
+            }
+            return serializer;
+        }
+
+        @Override
+        public Class<T> handledType() {
+            return codec.type();
+        }
+    }
+}
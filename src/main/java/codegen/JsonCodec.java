@@ -0,0 +1,38 @@
+package codegen;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes one DTO type with Jackson's streaming API, without reflection.
+ * Implementations are generated for {@link GeneratedCodec} types and found through
+ * {@link java.util.ServiceLoader}, see {@link GeneratedCodecs}.
+ */
+public interface JsonCodec<T> {
+
+    Class<T> type();
+
+    /**
+     * Reads an object starting at the parser's current token (START_OBJECT or the first
+     * FIELD_NAME), or at the next one if the parser has not been advanced yet.
+     */
+    T read(JsonParser parser, UnknownField unknown) throws IOException;
+
+    default T read(JsonParser parser) throws IOException {
+        return read(parser, UnknownField.SKIP);
+    }
+
+    void write(T value, JsonGenerator generator) throws IOException;
+
+    /**
+     * Called with the parser on the value of a field the type does not declare.
+     */
+    @FunctionalInterface
+    interface UnknownField {
+        UnknownField SKIP = (parser, name) -> parser.skipChildren();
+
+        void handle(JsonParser parser, String name) throws IOException;
+    }
+}
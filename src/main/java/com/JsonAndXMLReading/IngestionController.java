@@ -0,0 +1,90 @@
+package com.JsonAndXMLReading;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.EntityModel;
+import JSONFileReading.JsonCodecs;
+import XMLFileReading.RecordReaders;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * HTTP endpoints for EntityModel and Model uploads. Request bodies (JSON array, NDJSON or XML)
+ * are parsed incrementally straight from the servlet input stream and never buffered whole,
+ * so memory use does not grow with the size of the upload.
+ */
+@RestController
+@RequestMapping("/api")
+public class IngestionController {
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "entities", EntityModel.class,
+            "models", Model.class);
+
+    @PostMapping(path = "/{type}/ingest",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, NDJSON})
+    public ResponseEntity<IngestionResult> ingest(@PathVariable String type, HttpServletRequest request) throws IOException {
+        Class<?> dtoType = resolve(type);
+        long count = 0;
+        try (Stream<?> records = RecordReaders.stream(request.getInputStream(), dtoType)) {
+            Iterator<?> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            String message = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+            return ResponseEntity.badRequest().body(new IngestionResult(type, count, message));
+        }
+        return ResponseEntity.ok(new IngestionResult(type, count, null));
+    }
+
+    /**
+     * Re-emits the uploaded records as newline-delimited JSON, one record at a time.
+     */
+    @PostMapping(path = "/{type}/export",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, NDJSON},
+            produces = NDJSON)
+    public void export(@PathVariable String type, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Class<?> dtoType = resolve(type);
+        ObjectWriter writer = JsonCodecs.writer(dtoType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<?> records = RecordReaders.stream(request.getInputStream(), dtoType)) {
+            response.setContentType(NDJSON);
+            JsonGenerator generator = JsonCodecs.factory().createGenerator(response.getOutputStream());
+            generator.setRootValueSeparator(null);
+            Iterator<?> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Class<?> resolve(String type) {
+        Class<?> dtoType = TYPES.get(type);
+        if (dtoType == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown record type: " + type);
+        }
+        return dtoType;
+    }
+}
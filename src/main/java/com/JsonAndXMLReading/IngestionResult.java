@@ -0,0 +1,14 @@
+package com.JsonAndXMLReading;
+
+import lombok.Value;
+
+/**
+ * Response body of an ingestion request: how many records were parsed and, if
+ * parsing stopped early, why.
+ */
+@Value
+public class IngestionResult {
+    String type;
+    long records;
+    String error;
+}
@@ -0,0 +1,44 @@
+package serializationWithJava;
+
+import Instrumentation.CodecMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Pluggable binary format for a DTO, an alternative to ObjectOutputStream.
+ * Implementations write a fixed field layout with no class descriptors.
+ */
+public interface BinaryCodec<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    default byte[] encode(T value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        CodecMetrics.record("binary.encode", value.getClass(), () -> write(value, new DataOutputStream(bytes)));
+        CodecMetrics.bytes("binary.encode", value.getClass(), bytes.size());
+        return bytes.toByteArray();
+    }
+
+    default T decode(byte[] bytes) throws IOException {
+        long start = System.nanoTime();
+        T value;
+        try {
+            value = read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException | RuntimeException e) {
+            // the decoded type is unknown on failure, so errors are tagged with the codec
+            CodecMetrics.error("binary.decode", getClass(), e);
+            throw e;
+        }
+        CodecMetrics.stop("binary.decode", value.getClass(), start);
+        CodecMetrics.bytes("binary.decode", value.getClass(), bytes.length);
+        return value;
+    }
+}
@@ -0,0 +1,95 @@
+package serializationWithJava;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.EntityModel;
+import JSONFileReading.MyClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact binary codecs for the repo's DTOs.
+ */
+public final class BinaryCodecs {
+    public static final VersionedCodec<SerializationEntity> SERIALIZATION_ENTITY = new SerializationEntityCodec();
+    public static final VersionedCodec<Model> MODEL = new ModelCodec();
+    public static final VersionedCodec<EntityModel> ENTITY_MODEL = new EntityModelCodec();
+    public static final VersionedCodec<MyClass> MY_CLASS = new MyClassCodec();
+
+    private BinaryCodecs() {
+    }
+
+    private static final class SerializationEntityCodec extends VersionedCodec<SerializationEntity> {
+        private SerializationEntityCodec() {
+            super(SerializationEntity.class, 1);
+        }
+
+        @Override
+        protected void writeFields(SerializationEntity value, DataOutput out) throws IOException {
+            writeVarInt(out, value.getId());
+            writeString(out, value.getName());
+            writeVarInt(out, value.getInstanceVariable());
+        }
+
+        @Override
+        protected SerializationEntity readFields(DataInput in, int recordVersion) throws IOException {
+            return new SerializationEntity(readVarInt(in), readString(in), readVarInt(in));
+        }
+    }
+
+    private static final class ModelCodec extends VersionedCodec<Model> {
+        private ModelCodec() {
+            super(Model.class, 1);
+        }
+
+        @Override
+        protected void writeFields(Model value, DataOutput out) throws IOException {
+            writeVarInt(out, value.getId());
+            writeString(out, value.getFruitName());
+            writeString(out, value.getFruitSerialNumber());
+        }
+
+        @Override
+        protected Model readFields(DataInput in, int recordVersion) throws IOException {
+            return new Model(readVarInt(in), readString(in), readString(in));
+        }
+    }
+
+    private static final class EntityModelCodec extends VersionedCodec<EntityModel> {
+        private EntityModelCodec() {
+            super(EntityModel.class, 1);
+        }
+
+        @Override
+        protected void writeFields(EntityModel value, DataOutput out) throws IOException {
+            writeVarInt(out, value.getId());
+            writeString(out, value.getName());
+        }
+
+        @Override
+        protected EntityModel readFields(DataInput in, int recordVersion) throws IOException {
+            EntityModel entityModel = new EntityModel();
+            entityModel.setId(readVarInt(in));
+            entityModel.setName(readString(in));
+            return entityModel;
+        }
+    }
+
+    private static final class MyClassCodec extends VersionedCodec<MyClass> {
+        private MyClassCodec() {
+            super(MyClass.class, 1);
+        }
+
+        @Override
+        protected void writeFields(MyClass value, DataOutput out) throws IOException {
+            writeString(out, value.getName());
+            writeVarInt(out, value.getValue());
+        }
+
+        @Override
+        protected MyClass readFields(DataInput in, int recordVersion) throws IOException {
+            return new MyClass(readString(in), readVarInt(in));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package serializationWithJava;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Layout shared by {@link RecordFileWriter} and {@link RecordFileReader}:
+ * <pre>
+ * header : int magic, byte formatVersion
+ * block* : int recordCount, int byteLength, (int recordLength, byte[recordLength] record)*
+ * footer : int blockSize, long recordCount, int blockCount, long blockOffset[blockCount]
+ * trailer: long footerOffset, int magic
+ * </pre>
+ * Every block except the last holds exactly blockSize records, so the block holding
+ * record i is i / blockSize and the footer only needs one offset per block.
+ */
+final class RecordFileFormat {
+    static final int MAGIC = 0x52454331; // "REC1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 5;
+    static final int BLOCK_HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 12;
+
+    private RecordFileFormat() {
+    }
+
+    /**
+     * ByteArrayOutputStream whose backing array can be read without copying.
+     */
+    static final class ReusableOutputBuffer extends ByteArrayOutputStream {
+        ReusableOutputBuffer(int capacity) {
+            super(capacity);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /**
+     * ByteArrayInputStream that can be pointed at a new region of a reused array.
+     */
+    static final class ReusableInputBuffer extends ByteArrayInputStream {
+        ReusableInputBuffer() {
+            super(new byte[0]);
+        }
+
+        void reset(byte[] array, int offset, int length) {
+            this.buf = array;
+            this.pos = offset;
+            this.count = offset + length;
+            this.mark = offset;
+        }
+
+        int position() {
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package serializationWithJava;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a file produced by {@link RecordFileWriter}, either lazily in order through
+ * {@link #iterator()} or by record index through {@link #get(long)}, which uses the
+ * block offset index from the footer to read only the block holding the record.
+ * Block bytes are read into reused buffers. A reader instance is not thread-safe.
+ */
+public class RecordFileReader<T> implements Iterable<T>, Closeable {
+    private final BinaryCodec<T> codec;
+    private final FileChannel channel;
+    private final int blockSize;
+    private final long recordCount;
+    private final long[] blockOffsets;
+    private final BlockCursor randomAccess = new BlockCursor();
+
+    public RecordFileReader(Path path, BinaryCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, RecordFileFormat.HEADER_BYTES);
+            if (header.getInt() != RecordFileFormat.MAGIC || header.get() != RecordFileFormat.FORMAT_VERSION) {
+                throw new StreamCorruptedException("Not a record file: " + path);
+            }
+            ByteBuffer trailer = read(channel.size() - RecordFileFormat.TRAILER_BYTES, RecordFileFormat.TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != RecordFileFormat.MAGIC) {
+                throw new StreamCorruptedException("Record file was not closed properly: " + path);
+            }
+            ByteBuffer footer = read(footerOffset, (int) (channel.size() - RecordFileFormat.TRAILER_BYTES - footerOffset));
+            this.blockSize = footer.getInt();
+            this.recordCount = footer.getLong();
+            this.blockOffsets = new long[footer.getInt()];
+            for (int i = 0; i < blockOffsets.length; i++) {
+                blockOffsets[i] = footer.getLong();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    public T get(long index) throws IOException {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        int block = (int) (index / blockSize);
+        if (randomAccess.block != block) {
+            randomAccess.load(block);
+        }
+        return randomAccess.decode((int) (index % blockSize));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final BlockCursor cursor = new BlockCursor();
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < recordCount;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    int block = (int) (next / blockSize);
+                    if (cursor.block != block) {
+                        cursor.load(block);
+                    }
+                    next++;
+                    return cursor.decodeNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliterator(iterator(), recordCount, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        return buffer.flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of record file");
+            }
+            position += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // One decoded block in a reused buffer; tracks where the next record starts
+    private final class BlockCursor {
+        private final ByteBuffer blockHeader = ByteBuffer.allocate(RecordFileFormat.BLOCK_HEADER_BYTES);
+        private final RecordFileFormat.ReusableInputBuffer input = new RecordFileFormat.ReusableInputBuffer();
+        private final DataInputStream in = new DataInputStream(input);
+        private byte[] bytes = new byte[64 * 1024];
+        private int length;
+        private int block = -1;
+        private int nextRecord;
+
+        private void load(int block) throws IOException {
+            blockHeader.clear();
+            readFully(blockHeader, blockOffsets[block]);
+            blockHeader.flip();
+            blockHeader.getInt();
+            length = blockHeader.getInt();
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            readFully(ByteBuffer.wrap(bytes, 0, length), blockOffsets[block] + RecordFileFormat.BLOCK_HEADER_BYTES);
+            this.block = block;
+            rewind();
+        }
+
+        private void rewind() {
+            input.reset(bytes, 0, length);
+            nextRecord = 0;
+        }
+
+        private T decode(int recordInBlock) throws IOException {
+            if (recordInBlock < nextRecord) {
+                rewind();
+            }
+            while (nextRecord < recordInBlock) {
+                in.skipBytes(in.readInt());
+                nextRecord++;
+            }
+            return decodeNext();
+        }
+
+        private T decodeNext() throws IOException {
+            int recordLength = in.readInt();
+            int start = input.position();
+            T entity = codec.read(in);
+            if (input.position() != start + recordLength) {
+                throw new StreamCorruptedException("Record length mismatch in block " + block);
+            }
+            nextRecord++;
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package serializationWithJava;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Appends many entities to one length-prefixed record file (see {@link RecordFileFormat}).
+ * Records are encoded into a reused record buffer, gathered into a reused block buffer and
+ * written one block at a time, so the write loop allocates nothing besides what the codec
+ * needs for the entity itself. The offset index is written on {@link #close()}.
+ */
+public class RecordFileWriter<T> implements Closeable {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final BinaryCodec<T> codec;
+    private final int blockSize;
+    private final DataOutputStream file;
+    private final RecordFileFormat.ReusableOutputBuffer record = new RecordFileFormat.ReusableOutputBuffer(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final RecordFileFormat.ReusableOutputBuffer block = new RecordFileFormat.ReusableOutputBuffer(64 * 1024);
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private long[] blockOffsets = new long[16];
+    private int blockCount;
+    private int recordsInBlock;
+    private long recordCount;
+    private long position;
+    private boolean closed;
+
+    public RecordFileWriter(Path path, BinaryCodec<T> codec) throws IOException {
+        this(path, codec, DEFAULT_BLOCK_SIZE);
+    }
+
+    public RecordFileWriter(Path path, BinaryCodec<T> codec, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.codec = codec;
+        this.blockSize = blockSize;
+        this.file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        file.writeInt(RecordFileFormat.MAGIC);
+        file.writeByte(RecordFileFormat.FORMAT_VERSION);
+        position = RecordFileFormat.HEADER_BYTES;
+    }
+
+    public void write(T entity) throws IOException {
+        record.reset();
+        codec.write(entity, recordOut);
+        blockOut.writeInt(record.size());
+        blockOut.write(record.array(), 0, record.size());
+        recordCount++;
+        if (++recordsInBlock == blockSize) {
+            writeBlock();
+        }
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    private void writeBlock() throws IOException {
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+        }
+        blockOffsets[blockCount++] = position;
+        file.writeInt(recordsInBlock);
+        file.writeInt(block.size());
+        file.write(block.array(), 0, block.size());
+        position += RecordFileFormat.BLOCK_HEADER_BYTES + block.size();
+        block.reset();
+        recordsInBlock = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (recordsInBlock > 0) {
+                writeBlock();
+            }
+            long footerOffset = position;
+            file.writeInt(blockSize);
+            file.writeLong(recordCount);
+            file.writeInt(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                file.writeLong(blockOffsets[i]);
+            }
+            file.writeLong(footerOffset);
+            file.writeInt(RecordFileFormat.MAGIC);
+        } finally {
+            file.close();
+        }
+    }
+}
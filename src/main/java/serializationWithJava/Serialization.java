@@ -1,12 +1,18 @@
 package serializationWithJava;
 
+import Instrumentation.CodecMetrics;
+import JSONFileReading.AsyncJsonFiles;
+
 import java.io.*;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 
 public class Serialization {
     public static void main(String[] args) {
         serializationMethod();
         deSerializationMethod();
+        binarySerializationMethod();
         //Refer Link for serialization and deserialization: https://www.geeksforgeeks.org/serialization-in-java/
     }
 
@@ -15,10 +21,8 @@ public class Serialization {
             // Serialization
             SerializationEntity serialization = new SerializationEntity();
             FileOutputStream fileOutputStream = new FileOutputStream("serialization.txt");
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream);
             serialization.setName("johny");
-            objectOutputStream.writeObject(serialization);
-            objectOutputStream.close();
+            serialize(serialization, fileOutputStream);
             fileOutputStream.close();
             System.out.println("Serialization done!");
 
@@ -30,9 +34,7 @@ public class Serialization {
         try {
             // Deserialization
             FileInputStream fileInputStream = new FileInputStream("serialization.txt");
-            ObjectInputStream objectInputStream = new ObjectInputStream(fileInputStream);
-            SerializationEntity deserializedObject = (SerializationEntity) objectInputStream.readObject();
-            objectInputStream.close();
+            SerializationEntity deserializedObject = deserialize(fileInputStream);
             fileInputStream.close();
 
             System.out.println("Deserialization done! Name: " + deserializedObject.getName());
@@ -41,4 +43,55 @@ public class Serialization {
             throw new RuntimeException(e);
         }
     }
+
+    // Compares the Java serialization output with the compact binary codec for the same entity
+    private static void binarySerializationMethod() {
+        try {
+            SerializationEntity entity = new SerializationEntity(1, "johny", 42);
+            ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+            serialize(entity, javaBytes);
+            byte[] binaryBytes = BinaryCodecs.SERIALIZATION_ENTITY.encode(entity);
+            SerializationEntity decoded = BinaryCodecs.SERIALIZATION_ENTITY.decode(binaryBytes);
+
+            System.out.println("Java serialization size: " + javaBytes.size() + " bytes");
+            System.out.println("Binary codec size: " + binaryBytes.length + " bytes, Name: " + decoded.getName());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void serialize(SerializationEntity entity, OutputStream outputStream) throws IOException {
+        CodecMetrics.record("java.serialize", SerializationEntity.class, () -> {
+            ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+            objectOutputStream.writeObject(entity);
+            objectOutputStream.flush();
+        });
+        CodecMetrics.records("java.serialize", SerializationEntity.class, 1);
+    }
+
+    // Serializes in memory, then writes and atomically replaces the file without blocking the caller
+    public static CompletableFuture<Void> serializeAsync(SerializationEntity entity, Path file) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            serialize(entity, bytes);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return AsyncJsonFiles.write(file, bytes.toByteArray(), null);
+    }
+
+    public static SerializationEntity deserialize(InputStream inputStream) throws IOException, ClassNotFoundException {
+        long start = System.nanoTime();
+        try {
+            ObjectInputStream objectInputStream = new ObjectInputStream(inputStream);
+            SerializationEntity entity = (SerializationEntity) objectInputStream.readObject();
+            CodecMetrics.records("java.deserialize", SerializationEntity.class, 1);
+            return entity;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            CodecMetrics.error("java.deserialize", SerializationEntity.class, e);
+            throw e;
+        } finally {
+            CodecMetrics.stop("java.deserialize", SerializationEntity.class, start);
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package serializationWithJava;
 
+import codegen.GeneratedCodec;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 
+@GeneratedCodec
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -0,0 +1,89 @@
+package serializationWithJava;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base for hand-written codecs. Every record starts with a one-byte schema version,
+ * which plays the role serialVersionUID plays for Java serialization: readers can
+ * decode older layouts and reject unknown ones. Ints are written as zig-zag varints
+ * and strings as a varint length followed by UTF-8 bytes, so small values stay small.
+ */
+public abstract class VersionedCodec<T> implements BinaryCodec<T> {
+    private final Class<T> type;
+    private final int version;
+
+    protected VersionedCodec(Class<T> type, int version) {
+        this.type = type;
+        this.version = version;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public final void write(T value, DataOutput out) throws IOException {
+        out.writeByte(version);
+        writeFields(value, out);
+    }
+
+    @Override
+    public final T read(DataInput in) throws IOException {
+        int recordVersion = in.readUnsignedByte();
+        if (recordVersion < 1 || recordVersion > version) {
+            throw new InvalidClassException(type.getName(),
+                    "unsupported schema version " + recordVersion + ", this codec reads 1.." + version);
+        }
+        return readFields(in, recordVersion);
+    }
+
+    protected abstract void writeFields(T value, DataOutput out) throws IOException;
+
+    protected abstract T readFields(DataInput in, int recordVersion) throws IOException;
+
+    protected static void writeVarInt(DataOutput out, int value) throws IOException {
+        int zigZag = (value << 1) ^ (value >> 31);
+        while ((zigZag & ~0x7F) != 0) {
+            out.writeByte((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        out.writeByte(zigZag);
+    }
+
+    protected static int readVarInt(DataInput in) throws IOException {
+        int zigZag = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigZag |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // null is encoded as length -1
+    protected static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    protected static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package codegen;
+
+import CreateDTOAndReadUsingFileStreams.Model;
+import JSONFileReading.EntityModel;
+import JSONFileReading.JsonCodecs;
+import JSONFileReading.MyClass;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+import serializationWithJava.SerializationEntity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The generated codecs, as registered by JsonCodecs, must bind exactly like Jackson's reflective
+ * bean binding under the same settings.
+ */
+class GeneratedCodecsTests {
+
+    private static final List<Object> SAMPLES = List.of(
+            new Model(7, "apple", "A-0007"),
+            new Model(0, "pear", null),
+            entityModel(3, "three"),
+            entityModel(0, null),
+            new MyClass("name", 42),
+            new MyClass(null, 0),
+            new SerializationEntity(1, "one", 2),
+            new SerializationEntity());
+
+    @Test
+    void everyAnnotatedTypeHasACodec() {
+        for (Object sample : SAMPLES) {
+            assertThat(GeneratedCodecs.forType(sample.getClass())).as("%s", sample.getClass()).isNotNull();
+        }
+    }
+
+    @Test
+    void readsLikeReflectiveBinding() throws Exception {
+        for (JsonCodecs.Profile profile : JsonCodecs.Profile.values()) {
+            ObjectMapper reflective = reflective(profile);
+            for (Object sample : SAMPLES) {
+                Class<?> type = sample.getClass();
+                for (String json : inputs(reflective, sample)) {
+                    assertSameRead(JsonCodecs.reader(profile, type), reflective.readerFor(type), json);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unwrapsSingleValueArraysLikeReflectiveBinding() throws Exception {
+        ObjectMapper reflective = reflective(JsonCodecs.Profile.DEFAULT);
+        for (Object sample : SAMPLES) {
+            String json = reflective.writeValueAsString(sample);
+            for (String wrapped : List.of("[" + json + "]", "[" + json + "," + json + "]", "[]")) {
+                assertSameRead(JsonCodecs.reader(sample.getClass()).with(DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS),
+                        reflective.readerFor(sample.getClass()).with(DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS),
+                        wrapped);
+            }
+        }
+    }
+
+    @Test
+    void emptyArrayReadsAsNullWhenLenient() throws Exception {
+        for (Object sample : SAMPLES) {
+            assertThat((Object) JsonCodecs.reader(JsonCodecs.Profile.LENIENT, sample.getClass()).readValue("[]")).isNull();
+        }
+    }
+
+    @Test
+    void updatesTheExistingInstance() throws Exception {
+        ObjectMapper reflective = reflective(JsonCodecs.Profile.DEFAULT);
+        Model generated = new Model(1, "apple", "A-0001");
+        Model expected = new Model(1, "apple", "A-0001");
+
+        Object updated = JsonCodecs.reader(Model.class).withValueToUpdate(generated).readValue("{\"id\":2}");
+        reflective.readerForUpdating(expected).readValue("{\"id\":2}");
+
+        assertThat(updated).isSameAs(generated);
+        assertThat(generated).isEqualTo(expected);
+    }
+
+    @Test
+    void writesLikeReflectiveBinding() throws Exception {
+        for (JsonInclude.Include inclusion : List.of(JsonInclude.Include.ALWAYS, JsonInclude.Include.NON_NULL,
+                JsonInclude.Include.NON_DEFAULT, JsonInclude.Include.NON_EMPTY)) {
+            ObjectMapper generated = new ObjectMapper().registerModule(GeneratedCodecs.module())
+                    .setSerializationInclusion(inclusion);
+            ObjectMapper reflective = new ObjectMapper().setSerializationInclusion(inclusion);
+            for (Object sample : SAMPLES) {
+                assertThat(generated.writeValueAsString(sample))
+                        .as("%s with %s", sample, inclusion)
+                        .isEqualTo(reflective.writeValueAsString(sample));
+            }
+        }
+        for (Object sample : SAMPLES) {
+            assertThat(JsonCodecs.writer(sample.getClass()).writeValueAsString(sample))
+                    .isEqualTo(new ObjectMapper().writeValueAsString(sample));
+        }
+    }
+
+    // The mappers of JsonCodecs, without the generated codecs
+    private static ObjectMapper reflective(JsonCodecs.Profile profile) {
+        ObjectMapper mapper = new ObjectMapper();
+        if (profile != JsonCodecs.Profile.DEFAULT) {
+            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        }
+        if (profile == JsonCodecs.Profile.LENIENT) {
+            mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+                    .configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true);
+        }
+        return mapper;
+    }
+
+    // The sample as JSON, reordered, with an unknown field, and with each field null, quoted or fractional
+    private static List<String> inputs(ObjectMapper mapper, Object sample) throws Exception {
+        ObjectNode object = mapper.valueToTree(sample);
+        List<String> inputs = new ArrayList<>(List.of("{}", "null", "[]", "\"\"", "1", "{\"extra\":{\"a\":[1]}}"));
+        inputs.add(object.toString());
+        inputs.add(reversed(object).toString());
+        inputs.add(object.deepCopy().put("extra", "x").toString());
+        for (Iterator<String> names = object.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            JsonNode value = object.get(name);
+            inputs.add(object.deepCopy().putNull(name).toString());
+            inputs.add(object.deepCopy().set(name, TextNode.valueOf(value.asText())).toString());
+            inputs.add(object.deepCopy().set(name, DoubleNode.valueOf(7.9)).toString());
+        }
+        return inputs;
+    }
+
+    private static ObjectNode reversed(ObjectNode object) {
+        List<String> names = new ArrayList<>();
+        object.fieldNames().forEachRemaining(names::add);
+        ObjectNode reversed = object.objectNode();
+        for (int i = names.size() - 1; i >= 0; i--) {
+            reversed.set(names.get(i), object.get(names.get(i)));
+        }
+        return reversed;
+    }
+
+    private static void assertSameRead(ObjectReader generated, ObjectReader reflective, String json) throws Exception {
+        Object expected;
+        try {
+            expected = reflective.readValue(json);
+        } catch (Exception e) {
+            assertThatThrownBy(() -> generated.readValue(json)).as(json).isInstanceOf(e.getClass());
+            return;
+        }
+        Object actual = generated.readValue(json);
+        if (expected == null) {
+            assertThat(actual).as(json).isNull();
+        } else {
+            assertThat(actual).as(json).usingRecursiveComparison().isEqualTo(expected);
+        }
+    }
+
+    private static EntityModel entityModel(int id, String name) {
+        EntityModel entityModel = new EntityModel();
+        entityModel.setId(id);
+        entityModel.setName(name);
+        return entityModel;
+    }
+}